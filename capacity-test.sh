@@ -0,0 +1,95 @@
+#!/bin/bash
+
+################################################################################
+# Concurrent-Request Capacity Test
+#
+# Fires a burst of concurrent requests at one blocking endpoint and reports how
+# long the burst took and the request latency spread. Run it once against a
+# platform-thread build and once against the java21 build with the
+# virtual-threads profile to compare how many blocked requests each can hold.
+#
+# Usage:
+#   ./capacity-test.sh [--url=<BASE_URL>] [--concurrency=<N>] [--path=<PATH>] [--method=<METHOD>]
+#
+# Defaults:
+#   --url=http://localhost:8585
+#   --concurrency=400
+#   --path=/api/contention/load?strategy=lockfree&holdTimeMs=100&operationCount=10
+#   --method=POST
+#
+# The default request spends ~1s sleeping without holding a lock, so with N
+# concurrent requests and T request threads the burst takes about ceil(N / T) s.
+################################################################################
+
+BASE_URL="http://localhost:8585"
+CONCURRENCY=400
+REQUEST_PATH="/api/contention/load?strategy=lockfree&holdTimeMs=100&operationCount=10"
+METHOD="POST"
+
+for arg in "$@"; do
+    case $arg in
+        --url=*)
+            BASE_URL="${arg#*=}"
+            ;;
+        --concurrency=*)
+            CONCURRENCY="${arg#*=}"
+            ;;
+        --path=*)
+            REQUEST_PATH="${arg#*=}"
+            ;;
+        --method=*)
+            METHOD="${arg#*=}"
+            ;;
+        --help)
+            echo "Usage: $0 [--url=<BASE_URL>] [--concurrency=<N>] [--path=<PATH>] [--method=<METHOD>]"
+            exit 0
+            ;;
+        *)
+            echo "Unknown option: $arg"
+            exit 1
+            ;;
+    esac
+done
+
+if ! curl -s -f -o /dev/null --connect-timeout 5 --max-time 10 "$BASE_URL/actuator/health"; then
+    echo "Error: application is not reachable at $BASE_URL"
+    exit 1
+fi
+
+# curl caps --parallel-max at 300, so larger bursts are split across several curl processes
+MAX_PER_CURL=300
+WORK_DIR=$(mktemp -d)
+trap 'rm -rf "$WORK_DIR"' EXIT
+
+BATCHES=0
+for ((i = 0; i < CONCURRENCY; i++)); do
+    BATCH=$((i / MAX_PER_CURL))
+    printf 'url = "%s"\noutput = "/dev/null"\n' "${BASE_URL}${REQUEST_PATH}" >> "$WORK_DIR/requests-$BATCH"
+    BATCHES=$((BATCH + 1))
+done
+
+echo "Firing $CONCURRENCY concurrent $METHOD requests at ${BASE_URL}${REQUEST_PATH}"
+
+START=$(date +%s.%N)
+for ((b = 0; b < BATCHES; b++)); do
+    curl -s --no-progress-meter --parallel --parallel-immediate --parallel-max "$MAX_PER_CURL" --max-time 120 \
+        -X "$METHOD" -w "%{http_code} %{time_total}\n" -K "$WORK_DIR/requests-$b" > "$WORK_DIR/results-$b" &
+done
+wait
+END=$(date +%s.%N)
+
+RESULTS="$WORK_DIR/results"
+cat "$WORK_DIR"/results-* > "$RESULTS"
+OK=$(awk '$1 >= 200 && $1 < 300' "$RESULTS" | wc -l)
+FAILED=$((CONCURRENCY - OK))
+WALL=$(awk -v s="$START" -v e="$END" 'BEGIN { printf "%.2f", e - s }')
+
+echo ""
+echo "Completed: $OK ok, $FAILED failed"
+echo "Burst wall time: ${WALL}s"
+sort -k2 -n "$RESULTS" | awk '
+    function pct(p,    i) { i = int(NR * p); return t[i > 0 ? i : 1] }
+    { t[NR] = $2 }
+    END {
+        printf "Latency p50: %.2fs  p90: %.2fs  p99: %.2fs  max: %.2fs\n", pct(0.50), pct(0.90), pct(0.99), t[NR]
+    }'
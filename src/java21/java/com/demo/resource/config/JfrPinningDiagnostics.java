@@ -0,0 +1,99 @@
+package com.demo.resource.config;
+
+import com.demo.resource.concurrent.PinningDiagnostics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Streams jdk.VirtualThreadPinned JFR events in-process and attributes each one to the first
+ * application frame on the pinned stack (for example LockContentionService.runMonitor, which
+ * sleeps inside synchronized blocks). Events shorter than the threshold are not recorded by JFR.
+ */
+public class JfrPinningDiagnostics implements PinningDiagnostics, AutoCloseable {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.demo.resource.";
+
+    private final MeterRegistry meterRegistry;
+    private final long thresholdMs;
+    private final RecordingStream stream;
+    private final Timer pinnedTimer;
+
+    private final LongAdder pinnedEvents = new LongAdder();
+    private final Map<String, LongAdder> pinnedByFrame = new ConcurrentHashMap<>();
+    private final Map<String, Counter> countersByFrame = new ConcurrentHashMap<>();
+
+    public JfrPinningDiagnostics(MeterRegistry meterRegistry, long thresholdMs) {
+        this.meterRegistry = meterRegistry;
+        this.thresholdMs = Math.max(0, thresholdMs);
+        this.pinnedTimer = Timer.builder("jvm.threads.virtual.pinned.duration")
+                .description("Time virtual threads spent blocked while pinned to their carrier")
+                .register(meterRegistry);
+
+        this.stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(this.thresholdMs)).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("virtualThreads", true);
+        stats.put("thresholdMs", thresholdMs);
+        stats.put("pinnedEvents", pinnedEvents.sum());
+        stats.put("pinnedTotalMs", pinnedTimer.totalTime(TimeUnit.MILLISECONDS));
+        stats.put("pinnedMaxMs", pinnedTimer.max(TimeUnit.MILLISECONDS));
+        Map<String, Object> frames = new HashMap<>();
+        pinnedByFrame.forEach((frame, count) -> frames.put(frame, count.sum()));
+        stats.put("pinnedByFrame", frames);
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        String frame = applicationFrame(event.getStackTrace());
+        pinnedEvents.increment();
+        pinnedTimer.record(event.getDuration());
+        pinnedByFrame.computeIfAbsent(frame, f -> new LongAdder()).increment();
+        // One counter per application method keeps the tag cardinality bounded by the code base
+        countersByFrame.computeIfAbsent(frame, f -> Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual-thread pinning events, by first application frame")
+                .tag("frame", f)
+                .register(meterRegistry)).increment();
+    }
+
+    private static String applicationFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (RecordedFrame frame : frames) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(APP_PACKAGE)) {
+                return type.substring(type.lastIndexOf('.') + 1) + "." + frame.getMethod().getName();
+            }
+        }
+        return frames.isEmpty() ? "unknown" : "jdk";
+    }
+}
@@ -0,0 +1,55 @@
+package com.demo.resource.config;
+
+import com.demo.resource.concurrent.PinningDiagnostics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs Tomcat request handling on virtual threads (virtual-threads Spring profile, Java 21 build).
+ * Blocking endpoints then park a virtual thread instead of holding one of the
+ * server.tomcat.threads.max platform threads, so concurrency is bounded by
+ * server.tomcat.max-connections and downstream resources rather than the thread pool.
+ */
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadConfig {
+
+    /**
+     * Owns the request executor rather than exposing it as a bean: an Executor bean would replace
+     * Boot's applicationTaskExecutor, which MVC async requests such as /api/db/export run on
+     */
+    @Bean(destroyMethod = "close")
+    public VirtualThreadProtocolHandler virtualThreadProtocolHandler() {
+        return new VirtualThreadProtocolHandler();
+    }
+
+    @Bean(destroyMethod = "close")
+    public PinningDiagnostics pinningDiagnostics(MeterRegistry meterRegistry,
+                                                 @Value("${virtual-threads.pinning.threshold-ms:20}") long thresholdMs) {
+        return new JfrPinningDiagnostics(meterRegistry, thresholdMs);
+    }
+
+    static final class VirtualThreadProtocolHandler
+            implements TomcatProtocolHandlerCustomizer<ProtocolHandler>, AutoCloseable {
+        private final ExecutorService requestExecutor =
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-vt-", 0).factory());
+
+        @Override
+        public void customize(ProtocolHandler protocolHandler) {
+            protocolHandler.setExecutor(requestExecutor);
+        }
+
+        @Override
+        public void close() {
+            requestExecutor.close();
+        }
+    }
+}
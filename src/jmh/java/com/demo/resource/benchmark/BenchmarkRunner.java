@@ -0,0 +1,109 @@
+package com.demo.resource.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.BenchmarkList;
+import org.openjdk.jmh.runner.BenchmarkListEntry;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.format.OutputFormat;
+import org.openjdk.jmh.runner.format.OutputFormatFactory;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Runs the JMH suite once per configured thread count with the GC/allocation profiler,
+ * writing one JSON result file per run so releases can be diffed.
+ *
+ * System properties (set by the benchmark Maven profile):
+ *   jmh.threads         comma-separated thread counts for every benchmark; empty keeps each
+ *                       benchmark's @Threads/@GroupThreads and sweeps jmh.default.threads for the rest
+ *   jmh.default.threads thread counts for benchmarks without @Threads/@GroupThreads (default 1,4)
+ *   jmh.include         benchmark name regex (default .*Benchmark.*)
+ *   jmh.resultDir       output directory (default target/jmh)
+ *   jmh.version.label   prefix for result files (default dev)
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String include = System.getProperty("jmh.include", ".*Benchmark.*");
+        String label = System.getProperty("jmh.version.label", "dev");
+        File resultDir = new File(System.getProperty("jmh.resultDir", "target/jmh"));
+        if (!resultDir.isDirectory() && !resultDir.mkdirs()) {
+            throw new IllegalStateException("Cannot create result directory " + resultDir);
+        }
+
+        String threadList = System.getProperty("jmh.threads", "").trim();
+        if (!threadList.isEmpty()) {
+            for (int threads : parseThreads(threadList)) {
+                run(Collections.singletonList(include), threads,
+                        new File(resultDir, label + "-threads-" + threads + ".json"));
+            }
+            return;
+        }
+
+        // Benchmarks that declare their own threads run once as declared; the rest are swept
+        Set<String> declared = new LinkedHashSet<>();
+        Set<String> swept = new LinkedHashSet<>();
+        for (BenchmarkListEntry entry : matching(include)) {
+            String name = "^" + Pattern.quote(entry.getUsername()) + "$";
+            if (entry.getThreads().hasValue() || entry.getThreadGroupLabels().hasValue()) {
+                declared.add(name);
+            } else {
+                swept.add(name);
+            }
+        }
+        if (!declared.isEmpty()) {
+            run(declared, 0, new File(resultDir, label + ".json"));
+        }
+        if (!swept.isEmpty()) {
+            for (int threads : parseThreads(System.getProperty("jmh.default.threads", "1,4"))) {
+                run(swept, threads, new File(resultDir, label + "-threads-" + threads + ".json"));
+            }
+        }
+    }
+
+    private static Set<BenchmarkListEntry> matching(String include) {
+        OutputFormat silent = OutputFormatFactory.createFormatInstance(System.out, VerboseMode.SILENT);
+        return BenchmarkList.defaultList().find(silent, Collections.singletonList(include), Collections.emptyList());
+    }
+
+    private static Set<Integer> parseThreads(String threadList) {
+        Set<Integer> counts = new LinkedHashSet<>();
+        for (String value : threadList.split(",")) {
+            if (!value.trim().isEmpty()) {
+                counts.add(Integer.parseInt(value.trim()));
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * One JMH run; threads <= 0 leaves the thread count to the benchmark annotations
+     */
+    private static void run(Collection<String> includes, int threads, File result) throws RunnerException {
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.getPath());
+        for (String include : includes) {
+            builder.include(include);
+        }
+        if (threads > 0) {
+            builder.threads(threads);
+        }
+        new Runner(builder.build()).run();
+        System.out.println("JMH results written to " + result.getPath());
+    }
+}
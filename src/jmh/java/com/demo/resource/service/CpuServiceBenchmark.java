@@ -0,0 +1,64 @@
+package com.demo.resource.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the CpuService kernels, for both the boxed and primitive engines.
+ * calculatePrimes has no engine choice, so it is measured in PrimeSieveBenchmark instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CpuServiceBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int iterations;
+
+    @Param({"boxed", "primitive"})
+    public String engine;
+
+    private CpuEngine cpuEngine;
+    private CpuWorkExecutor executor;
+    private PrimeSieve primeSieve;
+    private MatrixMultiplier matrixMultiplier;
+    private CpuService cpuService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cpuEngine = CpuEngine.from(engine, CpuEngine.BOXED);
+        executor = new CpuWorkExecutor(registry, 0, 64);
+        primeSieve = new PrimeSieve(registry, executor, 10_000_000);
+        primeSieve.init();
+        matrixMultiplier = new MatrixMultiplier(executor);
+        cpuService = new CpuService(registry, primeSieve, matrixMultiplier, engine, "heap", 4 * 1024 * 1024);
+        cpuService.init();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public int countPrimes() {
+        return cpuService.countPrimes(iterations * 100, cpuEngine);
+    }
+
+    @Benchmark
+    public int streamPipeline() {
+        return cpuService.processNumbers(iterations, cpuEngine);
+    }
+
+    @Benchmark
+    public Map<String, Object> performCpuOnlyLoad() {
+        return cpuService.performCpuOnlyLoad(Math.min(iterations, 100), cpuEngine);
+    }
+}
@@ -0,0 +1,347 @@
+package com.demo.resource.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.IntSupplier;
+
+/**
+ * LockContentionService's own strategy code under contention: each call runs one
+ * put-append-trim operation of the chosen strategy, metrics recording included, with no
+ * sleep in the critical section so the synchronization itself is measured.
+ * stamped and striped are benchmark-only layouts of the same operation, recording the same
+ * wait/hold timers as the monitor path so their cost matches the service strategies'.
+ *
+ * The thread sweep is part of the suite (one method per count, 2/8/32/128), so a plain
+ *   mvn -Pbenchmark compile exec:exec -Djmh.include=LockContentionBenchmark
+ * covers it. SampleTime mode reports p50/p90/p99/p99.9/p99.99 per-operation latency next to throughput.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LockContentionBenchmark {
+
+    // Keys recycle per thread so the maps stay bounded over millions of operations
+    private static final int KEYS_PER_THREAD = 4096;
+
+    private static final int LIST_LIMIT = 1000;
+    private static final int LIST_TRIM = 500;
+
+    @State(Scope.Benchmark)
+    public static class SharedState {
+
+        @Param({"monitor", "reentrant", "reentrant-fair", "lockfree", "single-writer", "stamped", "striped"})
+        public String strategy;
+
+        LockContentionService service;
+        ContentionStrategy contentionStrategy;
+        BenchmarkPair pair;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            if ("stamped".equals(strategy)) {
+                pair = new StampedPair(new SimpleMeterRegistry());
+                return;
+            }
+            if ("striped".equals(strategy)) {
+                pair = new StripedPair(new SimpleMeterRegistry(), 16);
+                return;
+            }
+            boolean fair = strategy.endsWith("-fair");
+            contentionStrategy = ContentionStrategy.from(
+                    fair ? strategy.substring(0, strategy.length() - "-fair".length()) : strategy, null);
+            // No TTL: the recycled keys already bound the maps, and no ticker competes for the locks
+            service = new LockContentionService(new SimpleMeterRegistry(), fair, 1000, 1024, 0, 100);
+            service.init();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            if (service != null) {
+                service.shutdown();
+            }
+        }
+
+        LockContentionService.StrategyRun operate(ThreadState thread) {
+            if (pair != null) {
+                return pair.operate(thread.nextThreadId());
+            }
+            return service.runStrategy(contentionStrategy, thread.nextThreadId(), 0, 1);
+        }
+
+        Object metrics() {
+            return pair != null ? pair.sizes() : service.getMetrics();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private static final AtomicInteger THREAD_IDS = new AtomicInteger();
+
+        // The service appends "_op_0"; varying the id prefix cycles through KEYS_PER_THREAD keys
+        final String[] threadIds = new String[KEYS_PER_THREAD];
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            int id = THREAD_IDS.incrementAndGet();
+            for (int i = 0; i < threadIds.length; i++) {
+                threadIds[i] = "bench_" + id + "_" + i;
+            }
+        }
+
+        String nextThreadId() {
+            String threadId = threadIds[next];
+            next = (next + 1) & (KEYS_PER_THREAD - 1);
+            return threadId;
+        }
+    }
+
+    @Benchmark
+    @Threads(2)
+    public LockContentionService.StrategyRun threads002(SharedState shared, ThreadState thread) {
+        return shared.operate(thread);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public LockContentionService.StrategyRun threads008(SharedState shared, ThreadState thread) {
+        return shared.operate(thread);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public LockContentionService.StrategyRun threads032(SharedState shared, ThreadState thread) {
+        return shared.operate(thread);
+    }
+
+    @Benchmark
+    @Threads(128)
+    public LockContentionService.StrategyRun threads128(SharedState shared, ThreadState thread) {
+        return shared.operate(thread);
+    }
+
+    /**
+     * Writers contend while a reader polls /api/contention/metrics (the sizes, for stamped and striped)
+     */
+    @Benchmark
+    @Group("writersWithReader")
+    @GroupThreads(3)
+    public LockContentionService.StrategyRun writer(SharedState shared, ThreadState thread) {
+        return shared.operate(thread);
+    }
+
+    @Benchmark
+    @Group("writersWithReader")
+    @GroupThreads(1)
+    public void reader(SharedState shared, Blackhole blackhole) {
+        blackhole.consume(shared.metrics());
+    }
+
+    /**
+     * A layout the service does not offer, run with the monitor path's bookkeeping:
+     * the same key, counters and per-lock wait/hold timers
+     */
+    abstract static class BenchmarkPair {
+        final Counter operationCounter;
+        final Timer contentionTimer;
+        final Timer mapWaitTimer;
+        final Timer listWaitTimer;
+        final Timer mapHoldTimer;
+        final Timer listHoldTimer;
+
+        BenchmarkPair(MeterRegistry registry) {
+            operationCounter = Counter.builder("contention.operations").register(registry);
+            contentionTimer = timer(registry, "contention.wait.time", "all");
+            mapWaitTimer = timer(registry, "contention.lock.wait", "map");
+            listWaitTimer = timer(registry, "contention.lock.wait", "list");
+            mapHoldTimer = timer(registry, "contention.lock.hold", "map");
+            listHoldTimer = timer(registry, "contention.lock.hold", "list");
+        }
+
+        private static Timer timer(MeterRegistry registry, String name, String lock) {
+            return Timer.builder(name)
+                    .tag("lock", lock)
+                    .publishPercentiles(0.5, 0.99, 0.999)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+
+        abstract LockContentionService.StrategyRun operate(String threadId);
+
+        abstract Map<String, Object> sizes();
+
+        static void trim(List<String> list, int limit, int trim) {
+            if (list.size() > limit) {
+                list.subList(0, trim).clear();
+            }
+        }
+    }
+
+    /**
+     * The monitor pair's nesting on StampedLock write locks; sizes are optimistic reads
+     */
+    static final class StampedPair extends BenchmarkPair {
+        private final Map<String, Object> map = new HashMap<>();
+        private final List<String> list = new ArrayList<>();
+        private final StampedLock mapLock = new StampedLock();
+        private final StampedLock listLock = new StampedLock();
+
+        StampedPair(MeterRegistry registry) {
+            super(registry);
+        }
+
+        @Override
+        LockContentionService.StrategyRun operate(String threadId) {
+            long opStart = System.nanoTime();
+            long mapStamp = mapLock.writeLock();
+            long mapAcquired = System.nanoTime();
+            long listRequested;
+            long listAcquired;
+            long listReleased;
+            try {
+                String key = threadId + "_op_0";
+                map.put(key, System.currentTimeMillis());
+                listRequested = System.nanoTime();
+                long listStamp = listLock.writeLock();
+                listAcquired = System.nanoTime();
+                try {
+                    list.add(key);
+                    trim(list, LIST_LIMIT, LIST_TRIM);
+                } finally {
+                    listLock.unlockWrite(listStamp);
+                }
+                listReleased = System.nanoTime();
+                operationCounter.increment();
+            } finally {
+                mapLock.unlockWrite(mapStamp);
+            }
+            long mapReleased = System.nanoTime();
+
+            long mapWait = mapAcquired - opStart;
+            long listWait = listAcquired - listRequested;
+            mapWaitTimer.record(mapWait, TimeUnit.NANOSECONDS);
+            listWaitTimer.record(listWait, TimeUnit.NANOSECONDS);
+            mapHoldTimer.record(mapReleased - mapAcquired, TimeUnit.NANOSECONDS);
+            listHoldTimer.record(listReleased - listAcquired, TimeUnit.NANOSECONDS);
+            contentionTimer.record(mapWait + listWait, TimeUnit.NANOSECONDS);
+
+            LockContentionService.StrategyRun run = new LockContentionService.StrategyRun();
+            run.waitNanos = mapWait + listWait;
+            run.completed = 1;
+            return run;
+        }
+
+        @Override
+        Map<String, Object> sizes() {
+            Map<String, Object> sizes = new HashMap<>();
+            sizes.put("sharedMapSize", optimisticSize(mapLock, map::size));
+            sizes.put("sharedListSize", optimisticSize(listLock, list::size));
+            return sizes;
+        }
+
+        private static int optimisticSize(StampedLock lock, IntSupplier size) {
+            long stamp = lock.tryOptimisticRead();
+            int value = size.getAsInt();
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    value = size.getAsInt();
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Map and list split into stripes selected by key hash, one lock per stripe guarding both;
+     * each stripe's list is trimmed to its share of the limit
+     */
+    static final class StripedPair extends BenchmarkPair {
+        private final Map<String, Object>[] maps;
+        private final List<String>[] lists;
+        private final ReentrantLock[] locks;
+        private final int stripeLimit;
+        private final int stripeTrim;
+
+        @SuppressWarnings("unchecked")
+        StripedPair(MeterRegistry registry, int stripes) {
+            super(registry);
+            maps = new Map[stripes];
+            lists = new List[stripes];
+            locks = new ReentrantLock[stripes];
+            for (int i = 0; i < stripes; i++) {
+                maps[i] = new HashMap<>();
+                lists[i] = new ArrayList<>();
+                locks[i] = new ReentrantLock();
+            }
+            stripeLimit = LIST_LIMIT / stripes;
+            stripeTrim = LIST_TRIM / stripes;
+        }
+
+        @Override
+        LockContentionService.StrategyRun operate(String threadId) {
+            String key = threadId + "_op_0";
+            int stripe = (key.hashCode() & 0x7fffffff) % locks.length;
+            ReentrantLock lock = locks[stripe];
+            long opStart = System.nanoTime();
+            lock.lock();
+            long acquired = System.nanoTime();
+            try {
+                maps[stripe].put(key, System.currentTimeMillis());
+                lists[stripe].add(key);
+                trim(lists[stripe], stripeLimit, stripeTrim);
+                operationCounter.increment();
+            } finally {
+                lock.unlock();
+            }
+            long released = System.nanoTime();
+
+            // One lock covers both structures, so it is recorded as the map lock with no list wait
+            long wait = acquired - opStart;
+            mapWaitTimer.record(wait, TimeUnit.NANOSECONDS);
+            mapHoldTimer.record(released - acquired, TimeUnit.NANOSECONDS);
+            contentionTimer.record(wait, TimeUnit.NANOSECONDS);
+
+            LockContentionService.StrategyRun run = new LockContentionService.StrategyRun();
+            run.waitNanos = wait;
+            run.completed = 1;
+            return run;
+        }
+
+        @Override
+        Map<String, Object> sizes() {
+            int mapSize = 0;
+            int listSize = 0;
+            for (int i = 0; i < locks.length; i++) {
+                locks[i].lock();
+                try {
+                    mapSize += maps[i].size();
+                    listSize += lists[i].size();
+                } finally {
+                    locks[i].unlock();
+                }
+            }
+            Map<String, Object> sizes = new HashMap<>();
+            sizes.put("sharedMapSize", mapSize);
+            sizes.put("sharedListSize", listSize);
+            return sizes;
+        }
+    }
+}
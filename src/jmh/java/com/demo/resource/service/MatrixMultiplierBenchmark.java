@@ -0,0 +1,47 @@
+package com.demo.resource.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiled matrix multiplication, sequential and fork/join, plus the 50x50 product used by /api/cpu/load.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatrixMultiplierBenchmark {
+
+    @Param({"50", "256", "512"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private CpuWorkExecutor executor;
+    private MatrixMultiplier multiplier;
+    private int[] a;
+    private int[] b;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = new CpuWorkExecutor(new SimpleMeterRegistry(), 0, 64);
+        multiplier = new MatrixMultiplier(executor);
+        a = MatrixMultiplier.randomMatrix(size, size);
+        b = MatrixMultiplier.randomMatrix(size, size);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public int[] multiply() {
+        return multiplier.multiply(a, b, size, size, size, parallel);
+    }
+}
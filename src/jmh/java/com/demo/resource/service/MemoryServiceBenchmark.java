@@ -0,0 +1,47 @@
+package com.demo.resource.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MemoryService.accumulateMemory against the heap and off-heap payload stores.
+ * The store is cleared after every iteration so runs do not accumulate across the trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MemoryServiceBenchmark {
+
+    @Param({"5", "50"})
+    public int objectCount;
+
+    @Param({"2", "20"})
+    public int sizeMB;
+
+    @Param({"heap", "offheap"})
+    public String backend;
+
+    private MemoryService memoryService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        memoryService = new MemoryService(new SimpleMeterRegistry(), backend, 4 * 1024 * 1024, 0, 0);
+        memoryService.init();
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearStore() {
+        memoryService.clearMemory();
+    }
+
+    @Benchmark
+    public Map<String, Object> accumulateMemory() {
+        return memoryService.accumulateMemory(objectCount, sizeMB);
+    }
+}
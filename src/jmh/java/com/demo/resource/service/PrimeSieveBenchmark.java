@@ -0,0 +1,118 @@
+package com.demo.resource.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prime sieve cost with a warm shared cache versus a cache that starts empty on every call,
+ * and CpuService.calculatePrimes (boxing the sieve's primes into a List) over a warm cache
+ * versus a sieve whose cacheable limit is below every limit here, so each call sieves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PrimeSieveBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int limit;
+
+    @State(Scope.Benchmark)
+    public static class WarmSieve {
+        CpuWorkExecutor executor;
+        PrimeSieve sieve;
+        CpuService cpuService;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            executor = new CpuWorkExecutor(registry, 0, 64);
+            sieve = new PrimeSieve(registry, executor, 10_000_000);
+            sieve.init();
+            cpuService = cpuService(registry, sieve, executor);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            executor.shutdown();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ColdSieve {
+        SimpleMeterRegistry registry;
+        CpuWorkExecutor executor;
+        PrimeSieve sieve;
+
+        // One pool per trial, so the cold measurement is the empty cache rather than thread start-up
+        @Setup(Level.Trial)
+        public void startPool() {
+            registry = new SimpleMeterRegistry();
+            executor = new CpuWorkExecutor(registry, 0, 64);
+        }
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            sieve = new PrimeSieve(registry, executor, 10_000_000);
+            sieve.init();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            executor.shutdown();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class UncachedSieve {
+        CpuWorkExecutor executor;
+        CpuService cpuService;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            executor = new CpuWorkExecutor(registry, 0, 64);
+            // A cacheable limit of 2 sends every limit down the uncached path, which sieves on each call
+            PrimeSieve sieve = new PrimeSieve(registry, executor, 2);
+            sieve.init();
+            cpuService = cpuService(registry, sieve, executor);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            executor.shutdown();
+        }
+    }
+
+    static CpuService cpuService(SimpleMeterRegistry registry, PrimeSieve sieve, CpuWorkExecutor executor) {
+        CpuService cpuService = new CpuService(registry, sieve, new MatrixMultiplier(executor),
+                "boxed", "heap", 4 * 1024 * 1024);
+        cpuService.init();
+        return cpuService;
+    }
+
+    @Benchmark
+    public int[] cachedPrimes(WarmSieve state) {
+        return state.sieve.primesBelow(limit);
+    }
+
+    @Benchmark
+    public int[] coldPrimes(ColdSieve state) {
+        return state.sieve.primesBelow(limit);
+    }
+
+    @Benchmark
+    public List<Long> calculatePrimesCached(WarmSieve state) {
+        return state.cpuService.calculatePrimes(limit);
+    }
+
+    @Benchmark
+    public List<Long> calculatePrimesUncached(UncachedSieve state) {
+        return state.cpuService.calculatePrimes(limit);
+    }
+}
@@ -0,0 +1,63 @@
+package com.demo.resource.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-capacity, multi-producer ring that keeps the most recent elements.
+ * Appending claims a slot with one atomic increment and overwrites the oldest entry,
+ * so there is no trim step and no lock.
+ */
+public class LockFreeRingBuffer<T> {
+
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * @param capacity rounded up to the next power of two
+     */
+    public LockFreeRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public void add(T element) {
+        long sequence = tail.getAndIncrement();
+        slots.lazySet((int) (sequence & mask), element);
+    }
+
+    /**
+     * Element at the given age, 0 being the most recent; null if not (yet) present
+     */
+    public T get(int age) {
+        long sequence = tail.get() - 1 - age;
+        if (age < 0 || age >= slots.length() || sequence < 0) {
+            return null;
+        }
+        return slots.get((int) (sequence & mask));
+    }
+
+    public int size() {
+        return (int) Math.min(tail.get(), slots.length());
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * Total number of elements ever appended
+     */
+    public long appended() {
+        return tail.get();
+    }
+
+    public void clear() {
+        tail.set(0);
+        for (int i = 0; i < slots.length(); i++) {
+            slots.lazySet(i, null);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.demo.resource.concurrent;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded multi-producer, single-consumer queue (Vyukov's array queue).
+ *
+ * Each slot carries a sequence number saying whose turn it is: producers claim the tail
+ * with one CAS when the slot is free and publish by bumping its sequence; the consumer
+ * takes slots whose sequence shows a published element. offer never blocks, it returns
+ * false when the queue is full, so callers choose whether to drop or retry.
+ */
+public class MpscBoundedQueue<E> {
+
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // Read by producers for size(), written by the consumer only
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * @param capacity rounded up to the next power of two
+     */
+    public MpscBoundedQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Add an element; false if the queue is full
+     */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException("element");
+        }
+        while (true) {
+            long position = tail.get();
+            int slot = (int) (position & mask);
+            long sequence = sequences.get(slot);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(slot, element);
+                    sequences.set(slot, position + 1);
+                    return true;
+                }
+            } else if (sequence < position) {
+                // The consumer has not freed this slot since the last lap
+                return false;
+            }
+            // Otherwise another producer claimed the position first; retry with the new tail
+        }
+    }
+
+    /**
+     * Move up to max published elements into the list, in order. Consumer thread only.
+     *
+     * @return elements moved
+     */
+    public int drainTo(List<? super E> target, int max) {
+        long position = head.get();
+        int moved = 0;
+        while (moved < max) {
+            int slot = (int) (position & mask);
+            if (sequences.get(slot) != position + 1) {
+                // Empty, or claimed but not yet published
+                break;
+            }
+            target.add(elements.get(slot));
+            elements.lazySet(slot, null);
+            sequences.set(slot, position + mask + 1);
+            position++;
+            moved++;
+        }
+        head.lazySet(position);
+        return moved;
+    }
+
+    /**
+     * Claimed elements not yet drained; approximate while producers are active
+     */
+    public int size() {
+        return (int) Math.max(0, Math.min(tail.get() - head.get(), elements.length()));
+    }
+
+    public int capacity() {
+        return elements.length();
+    }
+}
@@ -0,0 +1,211 @@
+package com.demo.resource.concurrent;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Size-bounded, read-through local cache.
+ *
+ * Keys are spread over independently locked LRU segments, so lookups on different segments
+ * never contend. Misses are single-flight: the first caller for a key runs the loader and
+ * concurrent callers for the same key wait for its result instead of loading it again.
+ * An invalidation discards both the cached value and any load in flight for the key, so a
+ * load that read the old row cannot put it back after the write. Null results are not cached.
+ */
+public class NearCache<K, V> {
+
+    private final Segment<K, V>[] segments;
+    private final int mask;
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxSize upper bound on entries across all segments (split evenly, rounding down)
+     * @param segmentCount rounded up to the next power of two
+     */
+    @SuppressWarnings("unchecked")
+    public NearCache(int maxSize, int segmentCount) {
+        int count = Integer.highestOneBit(Math.max(2, segmentCount) - 1) << 1;
+        int perSegment = Math.max(1, maxSize / count);
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(perSegment, evictions);
+        }
+        this.mask = count - 1;
+    }
+
+    /**
+     * Cached value for the key, loading it on a miss
+     */
+    public V get(K key, Function<K, V> loader) {
+        Segment<K, V> segment = segmentFor(key);
+        V value = segment.get(key);
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+        misses.increment();
+
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, load);
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+        try {
+            // A load for this key may have finished between the lookup and the claim
+            value = segment.get(key);
+            if (value == null) {
+                value = loader.apply(key);
+                loads.increment();
+                if (value != null) {
+                    segment.putIfLoading(key, value, load, inFlight);
+                }
+            }
+            load.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            loadFailures.increment();
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    /**
+     * Drop the key and abandon any load in flight for it
+     */
+    public void invalidate(K key) {
+        segmentFor(key).invalidate(key, inFlight);
+    }
+
+    public void clear() {
+        // Abandon running loads first so none of them can repopulate a cleared segment
+        for (K key : inFlight.keySet()) {
+            invalidate(key);
+        }
+        for (Segment<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public int maxSize() {
+        return segments.length * segments[0].capacity;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long loads() {
+        return loads.sum();
+    }
+
+    public long loadFailures() {
+        return loadFailures.sum();
+    }
+
+    /**
+     * Misses served by waiting on another caller's load
+     */
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & mask];
+    }
+
+    private static <V> V await(CompletableFuture<V> load) {
+        try {
+            return load.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for cache load", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+
+    private static final class Segment<K, V> {
+        final int capacity;
+        final LinkedHashMap<K, V> entries;
+
+        Segment(int capacity, LongAdder evictions) {
+            this.capacity = capacity;
+            // Access-ordered, evicting the least recently used entry past capacity
+            this.entries = new LinkedHashMap<K, V>(Math.min(capacity, 1024), 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                    if (size() > Segment.this.capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized V get(K key) {
+            return entries.get(key);
+        }
+
+        // Publish only if the load was not invalidated; checked under the lock invalidate takes
+        synchronized void putIfLoading(K key, V value, CompletableFuture<V> load,
+                                       Map<K, CompletableFuture<V>> inFlight) {
+            if (inFlight.get(key) == load) {
+                entries.put(key, value);
+            }
+        }
+
+        synchronized void invalidate(K key, Map<K, CompletableFuture<V>> inFlight) {
+            inFlight.remove(key);
+            entries.remove(key);
+        }
+
+        synchronized void clear() {
+            entries.clear();
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
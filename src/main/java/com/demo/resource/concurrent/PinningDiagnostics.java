@@ -0,0 +1,16 @@
+package com.demo.resource.concurrent;
+
+import java.util.Map;
+
+/**
+ * Reports virtual threads pinned to their carrier thread (blocking inside synchronized or
+ * native frames). Only available when the app is built with the java21 Maven profile and
+ * started with the virtual-threads Spring profile.
+ */
+public interface PinningDiagnostics {
+
+    /**
+     * Pinned-event totals and the application frames responsible, for the metrics endpoint
+     */
+    Map<String, Object> getStats();
+}
@@ -0,0 +1,186 @@
+package com.demo.resource.concurrent;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * TTL cache that reloads hot entries before they expire.
+ *
+ * An entry read after refreshAfter but before its TTL is returned as-is and one background
+ * reload is queued on the refresh executor; the reload replaces the entry with a fresh
+ * timestamp, so keys that keep being read never reach their TTL and never miss. Only entries
+ * nobody read during the refresh window expire and are loaded synchronously (single-flight).
+ * Values must be immutable because they are handed to every caller.
+ */
+public class RefreshAheadCache<K, V> {
+
+    private final long ttlNanos;
+    private final long refreshAfterNanos;
+    private final int maxEntries;
+    private final Executor refreshExecutor;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    // Bumped by clear() so loads started before it do not store their result
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private final LongAdder refreshRejections = new LongAdder();
+
+    /**
+     * @param refreshAfterNanos age from which a read triggers a background reload, below ttlNanos
+     * @param maxEntries entries kept; past it, expired entries are purged and new keys are not cached
+     */
+    public RefreshAheadCache(long ttlNanos, long refreshAfterNanos, int maxEntries, Executor refreshExecutor) {
+        this.ttlNanos = Math.max(1, ttlNanos);
+        this.refreshAfterNanos = Math.max(0, Math.min(refreshAfterNanos, this.ttlNanos));
+        this.maxEntries = Math.max(1, maxEntries);
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        long now = System.nanoTime();
+        Entry<V> entry = entries.get(key);
+        if (entry != null && now - entry.loadedAt < ttlNanos) {
+            hits.increment();
+            if (now - entry.loadedAt >= refreshAfterNanos && entry.refreshing.compareAndSet(false, true)) {
+                scheduleRefresh(key, entry, loader);
+            }
+            return entry.value;
+        }
+        misses.increment();
+        return load(key, loader);
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Background reloads completed
+     */
+    public long refreshes() {
+        return refreshes.sum();
+    }
+
+    public long refreshFailures() {
+        return refreshFailures.sum();
+    }
+
+    /**
+     * Reloads the refresh executor had no room for; the entry is retried on a later read
+     */
+    public long refreshRejections() {
+        return refreshRejections.sum();
+    }
+
+    private V load(K key, Function<K, V> loader) {
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, load);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            long startGeneration = generation.get();
+            V value = loader.apply(key);
+            store(key, value, startGeneration);
+            load.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    private void scheduleRefresh(K key, Entry<V> stale, Function<K, V> loader) {
+        long startGeneration = generation.get();
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    V value = loader.apply(key);
+                    // Only replace the entry this refresh was started for
+                    if (generation.get() == startGeneration
+                            && entries.replace(key, stale, new Entry<>(value, System.nanoTime()))) {
+                        refreshes.increment();
+                    }
+                } catch (RuntimeException e) {
+                    refreshFailures.increment();
+                    stale.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshRejections.increment();
+            stale.refreshing.set(false);
+        }
+    }
+
+    private void store(K key, V value, long startGeneration) {
+        if (generation.get() != startGeneration) {
+            return;
+        }
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            long now = System.nanoTime();
+            entries.values().removeIf(e -> now - e.loadedAt >= ttlNanos);
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        entries.put(key, new Entry<>(value, System.nanoTime()));
+    }
+
+    private static <V> V await(CompletableFuture<V> load) {
+        try {
+            return load.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for cache load", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long loadedAt;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+
+        Entry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
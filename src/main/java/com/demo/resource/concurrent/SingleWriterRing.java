@@ -0,0 +1,216 @@
+package com.demo.resource.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Disruptor-style multi-producer, single-consumer ring.
+ *
+ * Entries are preallocated and reused. Producers claim a sequence with one atomic increment,
+ * fill the entry in place and publish it; a single writer thread applies every published
+ * entry in order, in batches of whatever is available, and then advances the applied
+ * sequence that producers wait on. State touched by the handler needs no locking because
+ * only the writer thread ever sees it.
+ */
+public class SingleWriterRing<E> {
+
+    /**
+     * Applies entries on the writer thread
+     */
+    public interface Handler<E> {
+        void onEvent(E event, long sequence, boolean endOfBatch);
+    }
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 200;
+    private static final long WRITER_PARK_NANOS = 100_000;
+    private static final long WAITER_PARK_NANOS = 10_000;
+    private static final long STOP_TIMEOUT_MILLIS = 1000;
+
+    private final Object[] entries;
+    private final int mask;
+    // Sequence most recently published into each slot, -1 before first use
+    private final AtomicLongArray published;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final AtomicLong applied = new AtomicLong(-1);
+
+    private final Handler<E> handler;
+    private final IntConsumer batchObserver;
+    private final Thread writer;
+    private volatile boolean running;
+    private volatile boolean writerParked;
+
+    // Written by the writer thread only
+    private volatile long batches;
+    private volatile int maxBatch;
+    private volatile long handlerErrors;
+
+    /**
+     * @param capacity rounded up to the next power of two
+     * @param factory creates the preallocated entries
+     * @param batchObserver receives the size of every applied batch, on the writer thread
+     */
+    public SingleWriterRing(String name, int capacity, Supplier<E> factory,
+                            Handler<E> handler, IntConsumer batchObserver) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.entries = new Object[size];
+        for (int i = 0; i < size; i++) {
+            entries[i] = factory.get();
+        }
+        this.mask = size - 1;
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1);
+        }
+        this.handler = handler;
+        this.batchObserver = batchObserver;
+        this.writer = new Thread(this::runWriter, name);
+        this.writer.setDaemon(true);
+    }
+
+    public void start() {
+        running = true;
+        writer.start();
+    }
+
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(STOP_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Claim the next slot, fill it and hand it to the writer.
+     * Blocks (spin, yield, then park) while the ring is full.
+     *
+     * @return the entry's sequence, to pass to {@link #awaitApplied(long)}
+     */
+    public long publish(Consumer<E> translator) {
+        if (!running) {
+            throw new IllegalStateException("Writer is not running");
+        }
+        long sequence = claimed.incrementAndGet();
+        long wrapPoint = sequence - entries.length;
+        for (int i = 0; applied.get() < wrapPoint; i++) {
+            if (!running) {
+                throw new IllegalStateException("Writer stopped");
+            }
+            idle(i);
+        }
+        int slot = (int) (sequence & mask);
+        @SuppressWarnings("unchecked")
+        E entry = (E) entries[slot];
+        translator.accept(entry);
+        published.set(slot, sequence);
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+        return sequence;
+    }
+
+    /**
+     * Wait until the writer has applied the given sequence
+     */
+    public void awaitApplied(long sequence) {
+        for (int i = 0; applied.get() < sequence; i++) {
+            if (!running) {
+                throw new IllegalStateException("Writer stopped");
+            }
+            idle(i);
+        }
+    }
+
+    public int capacity() {
+        return entries.length;
+    }
+
+    /**
+     * Claimed entries the writer has not applied yet
+     */
+    public int occupancy() {
+        return (int) Math.max(0, claimed.get() - applied.get());
+    }
+
+    public long publishedCount() {
+        return claimed.get() + 1;
+    }
+
+    public long appliedCount() {
+        return applied.get() + 1;
+    }
+
+    public long batches() {
+        return batches;
+    }
+
+    public int maxBatch() {
+        return maxBatch;
+    }
+
+    public double averageBatch() {
+        long count = batches;
+        return count > 0 ? (double) appliedCount() / count : 0.0;
+    }
+
+    public long handlerErrors() {
+        return handlerErrors;
+    }
+
+    private void runWriter() {
+        long next = applied.get() + 1;
+        int idleRounds = 0;
+        while (running) {
+            long available = next - 1;
+            while (published.get((int) ((available + 1) & mask)) == available + 1) {
+                available++;
+            }
+            if (available < next) {
+                if (idleRounds++ < SPIN_TRIES + YIELD_TRIES) {
+                    idle(idleRounds);
+                } else {
+                    writerParked = true;
+                    // Re-check after announcing the park so a concurrent publish is not missed
+                    if (published.get((int) (next & mask)) != next) {
+                        LockSupport.parkNanos(this, WRITER_PARK_NANOS);
+                    }
+                    writerParked = false;
+                }
+                continue;
+            }
+            idleRounds = 0;
+            for (long sequence = next; sequence <= available; sequence++) {
+                @SuppressWarnings("unchecked")
+                E entry = (E) entries[(int) (sequence & mask)];
+                try {
+                    handler.onEvent(entry, sequence, sequence == available);
+                } catch (RuntimeException e) {
+                    // Keep the sequence moving; a wedged writer would block every producer
+                    handlerErrors++;
+                }
+            }
+            int batch = (int) (available - next + 1);
+            applied.set(available);
+            batches++;
+            if (batch > maxBatch) {
+                maxBatch = batch;
+            }
+            batchObserver.accept(batch);
+            next = available + 1;
+        }
+    }
+
+    private static void idle(int attempt) {
+        if (attempt < SPIN_TRIES) {
+            return;
+        }
+        if (attempt < SPIN_TRIES + YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(WAITER_PARK_NANOS);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.demo.resource.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel for expiring keys.
+ *
+ * Scheduling appends to the bucket of the deadline tick, so it is O(1) regardless of how many
+ * timeouts are pending. Advancing visits only the buckets of the ticks that elapsed; entries
+ * more than one revolution away stay in their bucket until their own tick comes round.
+ * Not thread-safe: callers guard it with a lock of their own.
+ */
+public class TimingWheel<K> {
+
+    private final long tickNanos;
+    private final long startNanos;
+    private final List<Timeout<K>>[] buckets;
+    private final int mask;
+    private long currentTick;
+    private int pending;
+
+    /**
+     * @param wheelSize number of buckets, rounded up to the next power of two
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickNanos, int wheelSize, long startNanos) {
+        int size = Integer.highestOneBit(Math.max(2, wheelSize) - 1) << 1;
+        this.tickNanos = Math.max(1, tickNanos);
+        this.startNanos = startNanos;
+        this.buckets = new List[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Expire the key once delayNanos have passed, rounded up to the next tick
+     */
+    public void schedule(K key, long delayNanos, long nowNanos) {
+        long elapsed = nowNanos - startNanos + delayNanos;
+        long deadlineTick = Math.max(currentTick + 1, (elapsed + tickNanos - 1) / tickNanos);
+        buckets[(int) (deadlineTick & mask)].add(new Timeout<>(key, deadlineTick));
+        pending++;
+    }
+
+    /**
+     * Process every tick up to nowNanos, handing each due key to onExpire
+     *
+     * @return number of keys expired
+     */
+    public int advance(long nowNanos, Consumer<K> onExpire) {
+        long targetTick = (nowNanos - startNanos) / tickNanos;
+        if (targetTick <= currentTick) {
+            return 0;
+        }
+        // After a stall longer than one revolution each bucket only needs one visit
+        long fromTick = Math.max(currentTick + 1, targetTick - buckets.length + 1);
+        int expired = 0;
+        for (long tick = fromTick; tick <= targetTick; tick++) {
+            expired += expireBucket(buckets[(int) (tick & mask)], targetTick, onExpire);
+        }
+        currentTick = targetTick;
+        pending -= expired;
+        return expired;
+    }
+
+    /**
+     * Timeouts scheduled and not yet expired
+     */
+    public int pending() {
+        return pending;
+    }
+
+    public int wheelSize() {
+        return buckets.length;
+    }
+
+    public void clear() {
+        for (List<Timeout<K>> bucket : buckets) {
+            bucket.clear();
+        }
+        pending = 0;
+    }
+
+    private static <K> int expireBucket(List<Timeout<K>> bucket, long targetTick, Consumer<K> onExpire) {
+        int kept = 0;
+        int size = bucket.size();
+        for (int i = 0; i < size; i++) {
+            Timeout<K> timeout = bucket.get(i);
+            if (timeout.deadlineTick <= targetTick) {
+                onExpire.accept(timeout.key);
+            } else {
+                bucket.set(kept++, timeout);
+            }
+        }
+        // Compact in place, then drop the tail
+        bucket.subList(kept, size).clear();
+        return size - kept;
+    }
+
+    private static final class Timeout<K> {
+        final K key;
+        final long deadlineTick;
+
+        Timeout(K key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
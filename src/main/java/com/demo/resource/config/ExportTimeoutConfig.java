@@ -0,0 +1,50 @@
+package com.demo.resource.config;
+
+import com.demo.resource.service.ExportService;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Gives the streamed /api/db/export response its own async timeout (db.export.timeout-ms);
+ * every other async endpoint keeps Spring MVC's default request timeout.
+ *
+ * On timeout MVC interrupts the streaming task and resolves an AsyncRequestTimeoutException,
+ * which only becomes a 503 while the response is still uncommitted; a half-written export is
+ * left as it is rather than getting a second response.
+ */
+@Configuration
+@Profile("!locks")
+public class ExportTimeoutConfig implements WebMvcConfigurer {
+
+    private static final String EXPORT_PATTERN = "/api/db/export";
+
+    private final ExportService exportService;
+
+    public ExportTimeoutConfig(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                // Called with the async request just before it starts, while its timeout can still change
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                        RequestAttributes.SCOPE_REQUEST);
+                if (EXPORT_PATTERN.equals(pattern) && request instanceof AsyncWebRequest) {
+                    ((AsyncWebRequest) request).setTimeout(exportService.getTimeoutMs());
+                }
+            }
+        });
+    }
+}
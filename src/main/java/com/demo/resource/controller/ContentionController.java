@@ -1,9 +1,13 @@
 package com.demo.resource.controller;
 
+import com.demo.resource.service.ContentionStrategy;
 import com.demo.resource.service.LockContentionService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -27,14 +31,35 @@ public class ContentionController {
      * 
      * @param holdTimeMs Time to hold lock per operation in ms (10-500, default: 50)
      * @param operationCount Operations for this thread (10-1000, default: 100)
+     * @param strategy monitor (nested synchronized, default), lockfree, single-writer or reentrant
+     *                 (explicit locks; returns 503 when a tryLock timeout sheds the request)
      */
     @PostMapping("/load")
     public ResponseEntity<Map<String, Object>> contentionLoad(
             @RequestParam(defaultValue = "50") int holdTimeMs,
-            @RequestParam(defaultValue = "100") int operationCount) {
+            @RequestParam(defaultValue = "100") int operationCount,
+            @RequestParam(defaultValue = "monitor") String strategy) {
+        
+        ContentionStrategy selected;
+        try {
+            selected = ContentionStrategy.from(strategy, ContentionStrategy.MONITOR);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("operation", "lock-contention");
+            response.put("status", "error");
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
         
         Map<String, Object> result = lockContentionService.performContentionOperation(
-                holdTimeMs, operationCount);
+                holdTimeMs, operationCount, selected);
+        if (Boolean.TRUE.equals(result.get("timedOut"))) {
+            result.put("status", "timeout");
+            result.put("message", "Lock wait exceeded " + result.get("tryLockTimeoutMs") + "ms, remaining operations shed");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(result);
+        }
         return ResponseEntity.ok(result);
     }
 
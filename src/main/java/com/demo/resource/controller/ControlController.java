@@ -4,7 +4,9 @@ import com.demo.resource.service.CpuService;
 import com.demo.resource.service.DatabaseService;
 import com.demo.resource.service.LockContentionService;
 import com.demo.resource.service.MemoryService;
+import com.demo.resource.service.SeedService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.web.bind.annotation.*;
@@ -25,6 +27,9 @@ public class ControlController {
     
     @Autowired(required = false)
     private JdbcTemplate jdbcTemplate;
+    
+    @Autowired(required = false)
+    private SeedService seedService;
 
     public ControlController(CpuService cpuService,
                             MemoryService memoryService,
@@ -66,11 +71,16 @@ public class ControlController {
 
     /**
      * POST /api/db/reset
-     * Truncate and reseed database
+     * Truncate and reseed database in place
+     *
+     * @param scale multiple of the data.sql volume (75,000 records) to generate (default: db.seed.scale)
+     * @param reseed false to only truncate (default: true)
      */
     @PostMapping("/db/reset")
-    public ResponseEntity<Map<String, Object>> resetDatabase() {
-        if (jdbcTemplate == null) {
+    public ResponseEntity<Map<String, Object>> resetDatabase(
+            @RequestParam(required = false) Double scale,
+            @RequestParam(defaultValue = "true") boolean reseed) {
+        if (seedService == null) {
             Map<String, Object> response = new HashMap<>();
             response.put("operation", "database-reset");
             response.put("status", "unavailable");
@@ -79,25 +89,20 @@ public class ControlController {
         }
         
         try {
-            // Truncate tables
-            jdbcTemplate.execute("TRUNCATE TABLE audit_log CASCADE");
-            jdbcTemplate.execute("TRUNCATE TABLE related_entity CASCADE");
-            jdbcTemplate.execute("TRUNCATE TABLE data_record CASCADE");
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("operation", "database-reset");
-            response.put("status", "completed");
-            response.put("message", "Database truncated. Restart application to reseed data.");
-            response.put("timestamp", System.currentTimeMillis());
-            
+            Map<String, Object> response = reseed
+                    ? seedService.reseed(scale != null ? scale : seedService.getDefaultScale())
+                    : seedService.truncate();
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return resetError(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            if (e.getCause() == null) {
+                // Another reset is running
+                return resetError(HttpStatus.CONFLICT, e.getMessage());
+            }
+            return resetError(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
         } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("operation", "database-reset");
-            response.put("status", "error");
-            response.put("message", e.getMessage());
-            
-            return ResponseEntity.status(500).body(response);
+            return resetError(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
         }
     }
 
@@ -135,4 +140,12 @@ public class ControlController {
             return ResponseEntity.status(503).body(response);
         }
     }
+
+    private static ResponseEntity<Map<String, Object>> resetError(HttpStatus status, String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("operation", "database-reset");
+        response.put("status", "error");
+        response.put("message", message);
+        return ResponseEntity.status(status).body(response);
+    }
 }
@@ -1,32 +1,85 @@
 package com.demo.resource.controller;
 
+import com.demo.resource.service.CpuEngine;
 import com.demo.resource.service.CpuService;
+import com.demo.resource.service.CpuWorkExecutor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/cpu")
 public class CpuController {
 
     private final CpuService cpuService;
+    private final CpuWorkExecutor cpuWorkExecutor;
 
-    public CpuController(CpuService cpuService) {
+    public CpuController(CpuService cpuService, CpuWorkExecutor cpuWorkExecutor) {
         this.cpuService = cpuService;
+        this.cpuWorkExecutor = cpuWorkExecutor;
     }
 
     /**
      * POST /api/cpu/load
-     * CPU-intensive operation that also accumulates memory
+     * CPU-intensive operation that also accumulates memory.
+     * Runs on the dedicated CPU executor; answers 429 when its queue is full.
+     * 
+     * @param engine boxed or primitive (defaults to the cpu.engine property)
      */
     @PostMapping("/load")
-    public ResponseEntity<Map<String, Object>> cpuLoad(
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> cpuLoad(
             @RequestParam(defaultValue = "10") int iterations,
-            @RequestParam(defaultValue = "1") int dataSizeMB) {
+            @RequestParam(defaultValue = "1") int dataSizeMB,
+            @RequestParam(required = false) String engine) {
         
-        Map<String, Object> result = cpuService.performCpuAndMemoryLoad(iterations, dataSizeMB);
-        return ResponseEntity.ok(result);
+        CpuEngine selected;
+        try {
+            selected = CpuEngine.from(engine, cpuService.getDefaultEngine());
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("operation", "cpu-memory-load");
+            response.put("status", "error");
+            response.put("message", e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(response));
+        }
+        
+        return runOnCpuExecutor("cpu-memory-load",
+                () -> cpuService.performCpuAndMemoryLoad(iterations, dataSizeMB, selected));
+    }
+
+    /**
+     * POST /api/cpu/matrix
+     * Cache-blocked matrix multiplication of a configurable size.
+     * Runs on the dedicated CPU executor; answers 429 when its queue is full.
+     * 
+     * @param size Rows and columns of each square operand (1-2048, default: 256)
+     * @param parallel Split large products across the CPU executor's fork/join pool (default: true)
+     */
+    @PostMapping("/matrix")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> cpuMatrix(
+            @RequestParam(defaultValue = "256") int size,
+            @RequestParam(defaultValue = "true") boolean parallel) {
+        
+        // Validate up front so a bad size never takes an admission slot
+        try {
+            cpuService.validateMatrixSize(size);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("operation", "cpu-matrix");
+            response.put("status", "error");
+            response.put("message", e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(response));
+        }
+        
+        return runOnCpuExecutor("cpu-matrix",
+                () -> cpuService.performMatrixMultiplication(size, parallel));
     }
 
     /**
@@ -38,4 +91,32 @@ public class CpuController {
         Map<String, Object> result = cpuService.performStableCpuOperation();
         return ResponseEntity.ok(result);
     }
+
+    private CompletableFuture<ResponseEntity<Map<String, Object>>> runOnCpuExecutor(
+            String operation, Supplier<Map<String, Object>> work) {
+        try {
+            return cpuWorkExecutor.submit(work)
+                    .thenApply(result -> ResponseEntity.ok(result))
+                    .exceptionally(ex -> {
+                        Throwable cause = ex instanceof CompletionException && ex.getCause() != null
+                                ? ex.getCause() : ex;
+                        HttpStatus status = cause instanceof IllegalArgumentException
+                                ? HttpStatus.BAD_REQUEST : HttpStatus.INTERNAL_SERVER_ERROR;
+                        Map<String, Object> response = new HashMap<>();
+                        response.put("operation", operation);
+                        response.put("status", "error");
+                        response.put("message", cause.getMessage());
+                        return ResponseEntity.status(status).body(response);
+                    });
+        } catch (RejectedExecutionException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("operation", operation);
+            response.put("status", "rejected");
+            response.put("message", e.getMessage());
+            response.put("queueDepth", cpuWorkExecutor.getQueueDepth());
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header("Retry-After", "1")
+                    .body(response));
+        }
+    }
 }
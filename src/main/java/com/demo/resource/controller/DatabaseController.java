@@ -1,41 +1,321 @@
 package com.demo.resource.controller;
 
 import com.demo.resource.service.DatabaseService;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import com.demo.resource.service.ExportFormat;
+import com.demo.resource.service.ExportService;
+import com.demo.resource.service.ExportTable;
+import com.demo.resource.service.IngestMode;
+import com.demo.resource.service.IngestService;
+import com.demo.resource.service.FetchStrategy;
+import com.demo.resource.service.PayloadSearchService;
+import com.demo.resource.service.RecordSort;
+import com.demo.resource.service.SearchMode;
+import com.demo.resource.service.SlowExecution;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import javax.sql.DataSource;
+import java.io.InputStream;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 
 @RestController
 @RequestMapping("/api/db")
-@ConditionalOnBean(DataSource.class)
+// The locks profile excludes the DataSource auto-configuration. @ConditionalOnBean(DataSource.class)
+// is evaluated before auto-configured beans exist on component-scanned classes, so it never matched
+@Profile("!locks")
 public class DatabaseController {
 
+    private static final long SLOW_TIMEOUT_MS = 30_000;
+
     private final DatabaseService databaseService;
+    private final PayloadSearchService payloadSearchService;
+    private final ExportService exportService;
+    private final IngestService ingestService;
+    private final ObjectMapper objectMapper;
 
-    public DatabaseController(DatabaseService databaseService) {
+    public DatabaseController(DatabaseService databaseService,
+                              PayloadSearchService payloadSearchService,
+                              ExportService exportService,
+                              IngestService ingestService,
+                              ObjectMapper objectMapper) {
         this.databaseService = databaseService;
+        this.payloadSearchService = payloadSearchService;
+        this.exportService = exportService;
+        this.ingestService = ingestService;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * POST /api/db/slow
      * Slow database operations with N+1 queries and artificial delays
+     * 
+     * @param fetch lazy (N+1), entity-graph, batch or count (defaults to the db.slow.fetch-strategy property)
+     * @param execution blocking (one transaction held across the delays) or deferred (short transactions,
+     *                  delays on a timer, no request thread parked); defaults to db.slow.execution
      */
     @PostMapping("/slow")
-    public ResponseEntity<Map<String, Object>> slowDatabaseOperations() {
-        Map<String, Object> result = databaseService.performSlowDatabaseOperations();
-        return ResponseEntity.ok(result);
+    public DeferredResult<ResponseEntity<Map<String, Object>>> slowDatabaseOperations(
+            @RequestParam(required = false) String fetch,
+            @RequestParam(required = false) String execution) {
+        DeferredResult<ResponseEntity<Map<String, Object>>> deferred = new DeferredResult<>(SLOW_TIMEOUT_MS);
+        FetchStrategy selected;
+        SlowExecution selectedExecution;
+        try {
+            selected = FetchStrategy.from(fetch, databaseService.getDefaultFetchStrategy());
+            selectedExecution = SlowExecution.from(execution, databaseService.getDefaultSlowExecution());
+        } catch (IllegalArgumentException e) {
+            deferred.setResult(slowError(HttpStatus.BAD_REQUEST, e.getMessage()));
+            return deferred;
+        }
+        
+        if (selectedExecution == SlowExecution.BLOCKING) {
+            deferred.setResult(ResponseEntity.ok(databaseService.performSlowDatabaseOperations(selected)));
+            return deferred;
+        }
+        CompletableFuture<Map<String, Object>> run = databaseService.performSlowDatabaseOperationsDeferred(selected);
+        deferred.onTimeout(() -> {
+            deferred.setResult(slowError(HttpStatus.SERVICE_UNAVAILABLE, "Slow operations timed out"));
+            // Nobody reads the result any more: stop the run's remaining queries and delays
+            run.cancel(false);
+        });
+        run.whenComplete((result, failure) -> {
+            if (failure == null) {
+                deferred.setResult(ResponseEntity.ok(result));
+                return;
+            }
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause() : failure;
+            deferred.setResult(cause instanceof RejectedExecutionException
+                    ? slowError(HttpStatus.SERVICE_UNAVAILABLE, "Slow operation workers are saturated")
+                    : slowError(HttpStatus.INTERNAL_SERVER_ERROR, cause.getMessage()));
+        });
+        return deferred;
     }
 
     /**
      * POST /api/db/fast
      * Fast database operations with optimized queries
+     * 
+     * @param parallel run the four queries concurrently, each in its own transaction
+     *                 (defaults to the db.fast.parallel.enabled property)
      */
     @PostMapping("/fast")
-    public ResponseEntity<Map<String, Object>> fastDatabaseOperations() {
-        Map<String, Object> result = databaseService.performFastDatabaseOperations();
-        return ResponseEntity.ok(result);
+    public ResponseEntity<Map<String, Object>> fastDatabaseOperations(
+            @RequestParam(required = false) Boolean parallel) {
+        boolean fanOut = parallel != null ? parallel : databaseService.isFastParallelDefault();
+        if (!fanOut) {
+            Map<String, Object> result = databaseService.performFastDatabaseOperations();
+            return ResponseEntity.ok(result);
+        }
+        try {
+            return ResponseEntity.ok(databaseService.performFastDatabaseOperationsParallel());
+        } catch (RejectedExecutionException e) {
+            return fastError(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        } catch (IllegalStateException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                return fastError(HttpStatus.GATEWAY_TIMEOUT, e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * GET /api/db/records
+     * Cursor-paged data records using keyset (seek) pagination instead of OFFSET
+     * 
+     * @param sort id (default), category for (category, id) or timestamp for (timestamp, id) newest first
+     * @param category only return this category (sort=id only)
+     * @param cursor nextCursor from the previous response; omit for the first page
+     * @param size page size (1-500, default: 50)
+     */
+    @GetMapping("/records")
+    public ResponseEntity<Map<String, Object>> pageRecords(
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            Map<String, Object> result = databaseService.pageRecords(
+                    RecordSort.from(sort, RecordSort.ID), category, cursor, size);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("operation", "database-page");
+            response.put("status", "error");
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * GET /api/db/search
+     * Ranked payload search through an index instead of LIKE '%keyword%' scans
+     * 
+     * @param q words that must all appear in the payload
+     * @param mode fulltext (GIN tsvector index) or inverted (in-process index); defaults to db.search.mode
+     * @param limit maximum results (1-500, default: 20)
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, Object>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String mode,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            SearchMode selected = SearchMode.from(mode, payloadSearchService.getDefaultMode());
+            return ResponseEntity.ok(payloadSearchService.search(q, selected, limit));
+        } catch (IllegalArgumentException e) {
+            return searchError(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            return searchError(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+    /**
+     * GET /api/db/search/index
+     * In-process payload index status
+     */
+    @GetMapping("/search/index")
+    public ResponseEntity<Map<String, Object>> searchIndexStats() {
+        return ResponseEntity.ok(payloadSearchService.getIndexStats());
+    }
+
+    /**
+     * POST /api/db/search/index
+     * Rebuild the in-process payload index from the current table contents
+     */
+    @PostMapping("/search/index")
+    public ResponseEntity<Map<String, Object>> rebuildSearchIndex() {
+        try {
+            return ResponseEntity.ok(payloadSearchService.rebuildIndex());
+        } catch (IllegalStateException e) {
+            return searchError(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+    /**
+     * GET /api/db/export
+     * Stream a table as NDJSON or CSV over a server-side cursor, in constant memory
+     * 
+     * @param table data-record (default) or audit-log
+     * @param format ndjson (default) or csv
+     * @param afterId only rows with a larger id, to resume an interrupted export (default: 0)
+     * @param limit maximum rows, 0 for the whole table (default: 0)
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) String table,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(defaultValue = "0") long limit) {
+        ExportTable selectedTable;
+        ExportFormat selectedFormat;
+        try {
+            selectedTable = ExportTable.from(table, ExportTable.DATA_RECORD);
+            selectedFormat = ExportFormat.from(format, ExportFormat.NDJSON);
+            if (limit < 0) {
+                throw new IllegalArgumentException("limit must be 0 (all rows) or positive");
+            }
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("operation", "database-export");
+            response.put("status", "error");
+            response.put("message", e.getMessage());
+            // Streaming bodies are dispatched by declared type, so the error goes out the same way
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, response));
+        }
+        
+        // The async timeout for this response is db.export.timeout-ms, applied by ExportTimeoutConfig
+        StreamingResponseBody body = out -> exportService.export(selectedTable, selectedFormat, afterId, limit, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(selectedFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\""
+                        + selectedTable.tableName() + "." + selectedFormat.extension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * POST /api/db/ingest
+     * Bulk-load a streamed NDJSON or CSV body (the /api/db/export formats) into a table
+     * 
+     * @param table data-record (default) or audit-log
+     * @param format ndjson (default) or csv with a header row
+     * @param mode auto (default), copy (CopyManager) or batch (JDBC batch inserts)
+     */
+    // A form content type would have the body consumed as request parameters
+    @PostMapping(value = "/ingest", consumes = "!application/x-www-form-urlencoded")
+    public ResponseEntity<Map<String, Object>> ingest(
+            @RequestParam(required = false) String table,
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) String mode,
+            InputStream body) {
+        try {
+            Map<String, Object> result = ingestService.ingest(
+                    ExportTable.from(table, ExportTable.DATA_RECORD),
+                    ExportFormat.from(format, ExportFormat.NDJSON),
+                    IngestMode.from(mode, IngestMode.AUTO),
+                    body);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("operation", "database-ingest");
+            response.put("status", "error");
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (RuntimeException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("operation", "database-ingest");
+            response.put("status", "error");
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    private static ResponseEntity<Map<String, Object>> fastError(HttpStatus status, String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("operation", "database-fast");
+        response.put("status", "error");
+        response.put("message", message);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(status);
+        if (status == HttpStatus.SERVICE_UNAVAILABLE) {
+            builder.header(HttpHeaders.RETRY_AFTER, "1");
+        }
+        return builder.body(response);
+    }
+
+    private static ResponseEntity<Map<String, Object>> slowError(HttpStatus status, String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("operation", "database-slow");
+        response.put("status", "error");
+        response.put("message", message);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(status);
+        if (status == HttpStatus.SERVICE_UNAVAILABLE) {
+            builder.header(HttpHeaders.RETRY_AFTER, "1");
+        }
+        return builder.body(response);
+    }
+
+    private static ResponseEntity<Map<String, Object>> searchError(HttpStatus status, String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("operation", "database-search");
+        response.put("status", "error");
+        response.put("message", message);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(status);
+        if (status == HttpStatus.SERVICE_UNAVAILABLE) {
+            builder.header(HttpHeaders.RETRY_AFTER, "1");
+        }
+        return builder.body(response);
     }
 }
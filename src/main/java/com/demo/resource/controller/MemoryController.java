@@ -29,6 +29,16 @@ public class MemoryController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * GET /api/mem/read
+     * Read back an entry stored by /api/mem/load (handle is returned in its response)
+     */
+    @GetMapping("/read")
+    public ResponseEntity<Map<String, Object>> memoryRead(@RequestParam long handle) {
+        Map<String, Object> result = memoryService.readMemory(handle);
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * GET /api/mem/stable
      * Stable memory operation - no accumulation
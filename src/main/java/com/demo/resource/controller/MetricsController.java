@@ -1,6 +1,9 @@
 package com.demo.resource.controller;
 
+import com.demo.resource.concurrent.PinningDiagnostics;
+import com.demo.resource.service.AuditLogWriter;
 import com.demo.resource.service.CpuService;
+import com.demo.resource.service.CpuWorkExecutor;
 import com.demo.resource.service.DatabaseService;
 import com.demo.resource.service.LockContentionService;
 import com.demo.resource.service.MemoryService;
@@ -11,6 +14,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.sql.DataSource;
+import java.lang.management.BufferPoolMXBean;
 import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryMXBean;
@@ -23,6 +27,7 @@ import java.util.Map;
 public class MetricsController {
 
     private final CpuService cpuService;
+    private final CpuWorkExecutor cpuWorkExecutor;
     private final MemoryService memoryService;
     private final LockContentionService lockContentionService;
     
@@ -31,11 +36,20 @@ public class MetricsController {
     
     @Autowired(required = false)
     private DataSource dataSource;
+    
+    @Autowired(required = false)
+    private AuditLogWriter auditLogWriter;
+    
+    // Present only in the java21 build with the virtual-threads profile active
+    @Autowired(required = false)
+    private PinningDiagnostics pinningDiagnostics;
 
     public MetricsController(CpuService cpuService,
+                            CpuWorkExecutor cpuWorkExecutor,
                             MemoryService memoryService,
                             LockContentionService lockContentionService) {
         this.cpuService = cpuService;
+        this.cpuWorkExecutor = cpuWorkExecutor;
         this.memoryService = memoryService;
         this.lockContentionService = lockContentionService;
     }
@@ -79,6 +93,16 @@ public class MetricsController {
         nonHeapDetails.put("committedMB", nonHeapMemory.getCommitted() / (1024 * 1024));
         nonHeapDetails.put("maxMB", nonHeapMemory.getMax() / (1024 * 1024));
         
+        // Direct and mapped buffer pools (off-heap payload slabs show up under "direct")
+        Map<String, Object> bufferPools = new HashMap<>();
+        for (BufferPoolMXBean poolBean : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            Map<String, Object> pool = new HashMap<>();
+            pool.put("count", poolBean.getCount());
+            pool.put("usedMB", poolBean.getMemoryUsed() / (1024 * 1024));
+            pool.put("capacityMB", poolBean.getTotalCapacity() / (1024 * 1024));
+            bufferPools.put(poolBean.getName(), pool);
+        }
+        
         // GC statistics
         Map<String, Object> gcStats = new HashMap<>();
         long totalGcCount = 0;
@@ -99,6 +123,11 @@ public class MetricsController {
         collectionSizes.put("lockSharedMapSize", lockContentionService.getSharedMapSize());
         collectionSizes.put("lockSharedListSize", lockContentionService.getSharedListSize());
         
+        // Payload store footprint (heap vs direct memory)
+        Map<String, Object> payloadStores = new HashMap<>();
+        payloadStores.put("cpu", cpuService.getDataStoreStats());
+        payloadStores.put("memory", memoryService.getMemoryStoreStats());
+        
         // Lock contention metrics
         Map<String, Object> contentionMetrics = lockContentionService.getMetrics();
         
@@ -116,13 +145,20 @@ public class MetricsController {
         
         // Database stats
         Map<String, Object> dbStats = databaseService != null ? databaseService.getDatabaseStats() : new HashMap<>();
+        if (auditLogWriter != null) {
+            dbStats.put("auditWriter", auditLogWriter.getStats());
+        }
         
         metrics.put("jvmMemory", jvmMemory);
         metrics.put("heapMemory", heapDetails);
         metrics.put("nonHeapMemory", nonHeapDetails);
+        metrics.put("bufferPools", bufferPools);
         metrics.put("garbageCollection", gcStats);
         metrics.put("inMemoryCollections", collectionSizes);
+        metrics.put("payloadStores", payloadStores);
+        metrics.put("cpuExecutor", cpuWorkExecutor.getStats());
         metrics.put("lockContention", contentionMetrics);
+        metrics.put("virtualThreads", virtualThreadStats());
         metrics.put("connectionPool", connectionPool);
         metrics.put("database", dbStats);
         metrics.put("timestamp", System.currentTimeMillis());
@@ -130,6 +166,15 @@ public class MetricsController {
         return ResponseEntity.ok(metrics);
     }
 
+    private Map<String, Object> virtualThreadStats() {
+        if (pinningDiagnostics != null) {
+            return pinningDiagnostics.getStats();
+        }
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("virtualThreads", false);
+        return stats;
+    }
+
     /**
      * GET /api/metrics/endpoints
      * Get endpoint call counters (via Micrometer)
@@ -141,12 +186,31 @@ public class MetricsController {
         metrics.put("endpoints", new String[]{
             "/actuator/metrics/cpu.load.calls",
             "/actuator/metrics/cpu.stable.calls",
+            "/actuator/metrics/cpu.matrix.calls",
+            "/actuator/metrics/cpu.executor.queue.depth",
+            "/actuator/metrics/cpu.executor.rejected",
+            "/actuator/metrics/cpu.executor.run.time",
+            "/actuator/metrics/cpu.primes.cache.hits",
+            "/actuator/metrics/cpu.primes.cache.extensions",
+            "/actuator/metrics/cpu.primes.cache.limit",
             "/actuator/metrics/memory.load.calls",
             "/actuator/metrics/memory.stable.calls",
+            "/actuator/metrics/memory.store.bytes",
+            "/actuator/metrics/memory.store.evictions",
+            "/actuator/metrics/memory.store.hit.ratio",
             "/actuator/metrics/database.slow.calls",
             "/actuator/metrics/database.fast.calls",
             "/actuator/metrics/contention.operations",
-            "/actuator/metrics/contention.wait.time"
+            "/actuator/metrics/contention.wait.time",
+            "/actuator/metrics/contention.lock.wait",
+            "/actuator/metrics/contention.lock.hold",
+            "/actuator/metrics/contention.lock.timeouts",
+            "/actuator/metrics/contention.writer.batch.size",
+            "/actuator/metrics/contention.writer.ring.occupancy",
+            "/actuator/metrics/contention.map.live.size",
+            "/actuator/metrics/contention.map.expirations",
+            "/actuator/metrics/jvm.threads.virtual.pinned",
+            "/actuator/metrics/jvm.threads.virtual.pinned.duration"
         });
         
         return ResponseEntity.ok(metrics);
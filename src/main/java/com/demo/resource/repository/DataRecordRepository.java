@@ -1,10 +1,13 @@
 package com.demo.resource.repository;
 
 import com.demo.resource.entity.DataRecord;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -17,6 +20,70 @@ public interface DataRecordRepository extends JpaRepository<DataRecord, Long> {
     @Query(value = "SELECT * FROM data_record OFFSET ?1 LIMIT ?2", nativeQuery = true)
     List<DataRecord> findLimitedRecords(int offset, int limit);
 
+    // Same window as findLimitedRecords, ids only, for the fetch-plan strategies
+    @Query(value = "SELECT id FROM data_record OFFSET ?1 LIMIT ?2", nativeQuery = true)
+    List<Long> findLimitedIds(int offset, int limit);
+
+    // Fetch plan - records with their related entities in one join query
+    @EntityGraph(attributePaths = "relatedEntities")
+    @Query("SELECT DISTINCT d FROM DataRecord d WHERE d.id IN ?1")
+    List<DataRecord> findWithRelatedEntitiesByIdIn(Collection<Long> ids);
+
+    // Fetch plan - related entity count per record in a single aggregate query
+    @Query(value = "SELECT d.id AS recordId, COUNT(r.id) AS relatedCount " +
+           "FROM (SELECT id FROM data_record OFFSET ?1 LIMIT ?2) d " +
+           "LEFT JOIN related_entity r ON r.data_record_id = d.id " +
+           "GROUP BY d.id", nativeQuery = true)
+    List<RelatedCount> countRelatedForLimitedRecords(int offset, int limit);
+
+    // Keyset pages - seek past the last key instead of discarding OFFSET rows; each order has a matching index
+    String SUMMARY_COLUMNS = "SELECT id, category, timestamp, amount FROM data_record ";
+
+    @Query(value = SUMMARY_COLUMNS + "WHERE id > ?1 ORDER BY id LIMIT ?2", nativeQuery = true)
+    List<RecordSummary> findPageById(long afterId, int limit);
+
+    @Query(value = SUMMARY_COLUMNS + "WHERE category = ?1 AND id > ?2 ORDER BY id LIMIT ?3", nativeQuery = true)
+    List<RecordSummary> findPageByCategoryAndId(String category, long afterId, int limit);
+
+    @Query(value = SUMMARY_COLUMNS + "WHERE (category, id) > (?1, ?2) ORDER BY category, id LIMIT ?3",
+           nativeQuery = true)
+    List<RecordSummary> findPageByCategoryOrder(String afterCategory, long afterId, int limit);
+
+    @Query(value = SUMMARY_COLUMNS + "WHERE category IS NOT NULL ORDER BY category, id LIMIT ?1", nativeQuery = true)
+    List<RecordSummary> findFirstPageByCategoryOrder(int limit);
+
+    // Rows with no category, paged by id after every categorised row; the (category, id) index covers IS NULL
+    @Query(value = SUMMARY_COLUMNS + "WHERE category IS NULL AND id > ?1 ORDER BY id LIMIT ?2", nativeQuery = true)
+    List<RecordSummary> findNullCategoryPage(long afterId, int limit);
+
+    @Query(value = SUMMARY_COLUMNS + "WHERE (timestamp, id) < (?1, ?2) ORDER BY timestamp DESC, id DESC LIMIT ?3",
+           nativeQuery = true)
+    List<RecordSummary> findPageByTimestampDesc(LocalDateTime beforeTimestamp, long beforeId, int limit);
+
+    @Query(value = SUMMARY_COLUMNS + "WHERE timestamp IS NOT NULL ORDER BY timestamp DESC, id DESC LIMIT ?1",
+           nativeQuery = true)
+    List<RecordSummary> findFirstPageByTimestampDesc(int limit);
+
+    // Rows with no timestamp, paged newest id first after every timestamped row
+    @Query(value = SUMMARY_COLUMNS + "WHERE timestamp IS NULL AND id < ?1 ORDER BY id DESC LIMIT ?2",
+           nativeQuery = true)
+    List<RecordSummary> findNullTimestampPage(long beforeId, int limit);
+
+    @Query(value = SUMMARY_COLUMNS + "WHERE id IN ?1", nativeQuery = true)
+    List<RecordSummary> findSummariesByIdIn(Collection<Long> ids);
+
+    // Indexed search - GIN index on the generated payload_tsv column (data.sql), ranked by ts_rank
+    @Query(value = "SELECT id, category, timestamp, amount, " +
+           "CAST(ts_rank(payload_tsv, q) AS double precision) AS rank " +
+           "FROM data_record, plainto_tsquery('english', ?1) q " +
+           "WHERE payload_tsv @@ q " +
+           "ORDER BY rank DESC, id LIMIT ?2", nativeQuery = true)
+    List<SearchHit> searchPayload(String query, int limit);
+
+    // Keyset batches of id and payload for the in-process inverted index
+    @Query(value = "SELECT id, payload FROM data_record WHERE id > ?1 ORDER BY id LIMIT ?2", nativeQuery = true)
+    List<PayloadRow> findPayloadBatch(long afterId, int limit);
+
     // Slow query - unindexed LIKE search
     @Query("SELECT d FROM DataRecord d WHERE d.payload LIKE %?1%")
     List<DataRecord> findByPayloadContaining(String keyword);
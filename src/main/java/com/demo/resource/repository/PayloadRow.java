@@ -0,0 +1,11 @@
+package com.demo.resource.repository;
+
+/**
+ * Id and payload, read in keyset batches to build the in-process search index
+ */
+public interface PayloadRow {
+
+    Long getId();
+
+    String getPayload();
+}
@@ -0,0 +1,18 @@
+package com.demo.resource.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * data_record columns returned by the paging API (the TEXT payload is left out)
+ */
+public interface RecordSummary {
+
+    Long getId();
+
+    String getCategory();
+
+    LocalDateTime getTimestamp();
+
+    BigDecimal getAmount();
+}
@@ -0,0 +1,11 @@
+package com.demo.resource.repository;
+
+/**
+ * Projection of a per-record related entity count
+ */
+public interface RelatedCount {
+
+    Long getRecordId();
+
+    Long getRelatedCount();
+}
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,6 +14,10 @@ public interface RelatedEntityRepository extends JpaRepository<RelatedEntity, Lo
     // Slow query - unindexed foreign key search
     List<RelatedEntity> findByDataRecordId(Long dataRecordId);
 
+    // Fetch plan - one IN-list batch of related entities, instead of a select per record
+    @Query("SELECT r FROM RelatedEntity r WHERE r.dataRecord.id IN ?1")
+    List<RelatedEntity> findByDataRecordIdIn(Collection<Long> dataRecordIds);
+
     // Fast query - with limit
     @Query(value = "SELECT * FROM related_entity WHERE status = ?1 LIMIT 50", nativeQuery = true)
     List<RelatedEntity> findByStatusFast(String status);
@@ -0,0 +1,9 @@
+package com.demo.resource.repository;
+
+/**
+ * Record summary with its full-text relevance (ts_rank)
+ */
+public interface SearchHit extends RecordSummary {
+
+    Double getRank();
+}
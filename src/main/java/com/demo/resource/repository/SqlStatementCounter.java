@@ -0,0 +1,26 @@
+package com.demo.resource.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ * Registered through hibernate.session_factory.statement_inspector; a per-thread count
+ * stays accurate under concurrent requests, unlike the global Hibernate statistics.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Statements prepared on this thread so far; subtract two readings to count a section
+     */
+    public static long current() {
+        return COUNT.get()[0];
+    }
+}
@@ -0,0 +1,31 @@
+package com.demo.resource.service;
+
+import java.util.Locale;
+
+/**
+ * What a request thread does when the audit queue is full: DROP the event at once, or BLOCK
+ * until the writer frees a slot, up to db.audit.writer.block-timeout-ms, and then drop it.
+ */
+public enum AuditBackpressure {
+    DROP,
+    BLOCK;
+
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Resolve a backpressure name, falling back to the given default when no value is supplied
+     */
+    public static AuditBackpressure from(String value, AuditBackpressure fallback) {
+        if (value == null || value.trim().isEmpty()) {
+            return fallback;
+        }
+        try {
+            return AuditBackpressure.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown audit backpressure: " + value
+                    + " (expected drop or block)");
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package com.demo.resource.service;
+
+import com.demo.resource.concurrent.MpscBoundedQueue;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous, batched audit_log writer.
+ *
+ * Request threads only enqueue an immutable event into a bounded lock-free queue. One writer
+ * thread drains it and writes a batch with one COPY or one JDBC batch once db.audit.writer.batch-size
+ * events are waiting or the oldest has waited db.audit.writer.flush-interval-ms. When the queue
+ * is full, events are dropped or the caller waits briefly, per db.audit.writer.backpressure.
+ * On shutdown the writer drains and writes everything already queued before the DataSource
+ * closes. A batch that fails to write is counted and dropped, never retried.
+ */
+@Service
+@Profile("!locks")
+public class AuditLogWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogWriter.class);
+    private static final String COLUMNS = "record_id, related_id, description, created_at";
+    private static final long BLOCK_PARK_NANOS = 50_000;
+
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final MpscBoundedQueue<AuditEvent> queue;
+    private final int batchSize;
+    // Queue depth at which producers wake the writer: a full batch, or half the queue if that is smaller
+    private final int wakeThreshold;
+    private final long flushIntervalNanos;
+    private final AuditBackpressure backpressure;
+    private final long blockTimeoutNanos;
+    private final long shutdownTimeoutMs;
+    private final IngestMode mode;
+    private final Thread writer;
+
+    private volatile boolean accepting;
+    private volatile boolean running;
+    private volatile boolean writerParked;
+    // enqueue calls between their accepting check and their offer; shutdown waits for none before the final drain
+    private final AtomicInteger producersInFlight = new AtomicInteger();
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    private DistributionSummary batchSizes;
+    private Timer copyTimer;
+    private Timer batchTimer;
+
+    public AuditLogWriter(DataSource dataSource,
+                          MeterRegistry meterRegistry,
+                          @Value("${db.audit.writer.enabled:true}") boolean enabled,
+                          @Value("${db.audit.writer.queue-capacity:8192}") int queueCapacity,
+                          @Value("${db.audit.writer.batch-size:500}") int batchSize,
+                          @Value("${db.audit.writer.flush-interval-ms:200}") long flushIntervalMs,
+                          @Value("${db.audit.writer.backpressure:drop}") String backpressure,
+                          @Value("${db.audit.writer.block-timeout-ms:50}") long blockTimeoutMs,
+                          @Value("${db.audit.writer.shutdown-timeout-ms:5000}") long shutdownTimeoutMs,
+                          @Value("${db.audit.writer.mode:auto}") String mode) {
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.queue = new MpscBoundedQueue<>(queueCapacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.wakeThreshold = Math.max(1, Math.min(this.batchSize, queue.capacity() / 2));
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMs));
+        this.backpressure = AuditBackpressure.from(backpressure, AuditBackpressure.DROP);
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, blockTimeoutMs));
+        this.shutdownTimeoutMs = Math.max(0, shutdownTimeoutMs);
+        this.mode = IngestMode.from(mode, IngestMode.AUTO);
+        this.writer = new Thread(this::runWriter, "audit-log-writer");
+        this.writer.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("audit.writer.queue.depth", queue, MpscBoundedQueue::size)
+                .description("Audit events waiting for the writer")
+                .register(meterRegistry);
+        eventCounter("enqueued", enqueued);
+        eventCounter("dropped", dropped);
+        eventCounter("written", written);
+        eventCounter("failed", failed);
+        batchSizes = DistributionSummary.builder("audit.writer.batch.size")
+                .description("Events per audit_log write")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        copyTimer = writeTimer(IngestMode.COPY);
+        batchTimer = writeTimer(IngestMode.BATCH);
+        if (enabled) {
+            accepting = true;
+            running = true;
+            writer.start();
+        }
+    }
+
+    /**
+     * Stop taking events and write out everything queued, waiting up to db.audit.writer.shutdown-timeout-ms
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        accepting = false;
+        // A producer that saw accepting=true may still be offering; its event must be in the queue before the writer's last drain
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMs);
+        while (producersInFlight.get() > 0 && System.nanoTime() - deadline < 0) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+        if (writer.isAlive()) {
+            log.warn("Audit writer did not finish within {} ms; about {} events not written",
+                    shutdownTimeoutMs, queue.size());
+        } else {
+            log.info("Audit writer stopped: {} events written, {} dropped, {} failed",
+                    written.sum(), dropped.sum(), failed.sum());
+        }
+    }
+
+    /**
+     * Queue an audit_log row; never touches the database on the caller's thread
+     *
+     * @return false if the event was dropped (queue full, writer stopped or disabled)
+     */
+    public boolean enqueue(Long recordId, Long relatedId, String description) {
+        // Announce before checking accepting, so shutdown either sees this call or this call sees shutdown
+        producersInFlight.incrementAndGet();
+        try {
+            if (!accepting) {
+                if (enabled) {
+                    dropped.increment();
+                }
+                return false;
+            }
+            AuditEvent event = new AuditEvent(recordId, relatedId, description);
+            if (!queue.offer(event) && !(backpressure == AuditBackpressure.BLOCK && offerBlocking(event))) {
+                dropped.increment();
+                return false;
+            }
+            enqueued.increment();
+        } finally {
+            producersInFlight.decrementAndGet();
+        }
+        if (writerParked && queue.size() >= wakeThreshold) {
+            LockSupport.unpark(writer);
+        }
+        return true;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("running", running);
+        stats.put("backpressure", backpressure.label());
+        stats.put("queueDepth", queue.size());
+        stats.put("queueCapacity", queue.capacity());
+        stats.put("enqueued", enqueued.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("written", written.sum());
+        stats.put("failed", failed.sum());
+        stats.put("batches", batches.sum());
+        stats.put("meanBatchSize", batchSizes.mean());
+        stats.put("meanWriteMs", (copyTimer.totalTime(TimeUnit.MILLISECONDS) + batchTimer.totalTime(TimeUnit.MILLISECONDS))
+                / Math.max(1, copyTimer.count() + batchTimer.count()));
+        return stats;
+    }
+
+    private boolean offerBlocking(AuditEvent event) {
+        long deadline = System.nanoTime() + blockTimeoutNanos;
+        do {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            if (queue.offer(event)) {
+                return true;
+            }
+        } while (accepting && System.nanoTime() - deadline < 0);
+        return false;
+    }
+
+    private void runWriter() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (true) {
+            // Read before draining so nothing queued before shutdown is missed
+            boolean stopping = !running;
+            queue.drainTo(batch, batchSize - batch.size());
+            long now = System.nanoTime();
+            if (!batch.isEmpty() && (batch.size() >= batchSize || stopping
+                    || now - batch.get(0).enqueuedNanos >= flushIntervalNanos)) {
+                write(batch);
+                batch.clear();
+                continue;
+            }
+            if (stopping && batch.isEmpty()) {
+                return;
+            }
+            writerParked = true;
+            // Re-check after announcing the park so a full batch or a filling queue does not wait out the interval
+            if (queue.size() < wakeThreshold && queue.size() + batch.size() < batchSize) {
+                LockSupport.parkNanos(this, batch.isEmpty()
+                        ? flushIntervalNanos : flushIntervalNanos - (now - batch.get(0).enqueuedNanos));
+            }
+            writerParked = false;
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        long startNanos = System.nanoTime();
+        IngestMode used = IngestMode.BATCH;
+        try (Connection connection = dataSource.getConnection()) {
+            CopyManager copyManager = copyManager(connection);
+            if (copyManager != null) {
+                used = IngestMode.COPY;
+                copy(copyManager, batch);
+            } else {
+                insert(connection, batch);
+            }
+            written.add(batch.size());
+        } catch (SQLException | IOException | RuntimeException e) {
+            failed.add(batch.size());
+            log.warn("Dropping {} audit events after a failed write: {}", batch.size(), e.getMessage());
+        } finally {
+            batches.increment();
+            batchSizes.record(batch.size());
+            (used == IngestMode.COPY ? copyTimer : batchTimer).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private CopyManager copyManager(Connection connection) throws SQLException {
+        if (mode == IngestMode.BATCH || !connection.isWrapperFor(PGConnection.class)) {
+            return null;
+        }
+        return connection.unwrap(PGConnection.class).getCopyAPI();
+    }
+
+    private static void copy(CopyManager copyManager, List<AuditEvent> batch) throws SQLException, IOException {
+        StringBuilder csv = new StringBuilder(batch.size() * 128);
+        for (AuditEvent event : batch) {
+            // COPY csv reads an unquoted empty field as NULL
+            if (event.recordId != null) {
+                csv.append(event.recordId);
+            }
+            csv.append(',');
+            if (event.relatedId != null) {
+                csv.append(event.relatedId);
+            }
+            csv.append(",\"");
+            String description = event.description != null ? event.description : "";
+            for (int i = 0; i < description.length(); i++) {
+                char c = description.charAt(i);
+                if (c == '"') {
+                    csv.append('"');
+                }
+                csv.append(c);
+            }
+            csv.append("\",").append(event.createdAt).append('\n');
+        }
+        copyManager.copyIn("COPY audit_log (" + COLUMNS + ") FROM STDIN (FORMAT csv)", new StringReader(csv.toString()));
+    }
+
+    private static void insert(Connection connection, List<AuditEvent> batch) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO audit_log (" + COLUMNS + ") VALUES (?, ?, ?, ?)")) {
+            for (AuditEvent event : batch) {
+                setNullableLong(statement, 1, event.recordId);
+                setNullableLong(statement, 2, event.relatedId);
+                statement.setString(3, event.description);
+                statement.setTimestamp(4, Timestamp.valueOf(event.createdAt));
+                statement.addBatch();
+            }
+            // With reWriteBatchedInserts the driver sends this as a few multi-row INSERTs
+            statement.executeBatch();
+        }
+    }
+
+    private static void setNullableLong(PreparedStatement statement, int index, Long value) throws SQLException {
+        if (value != null) {
+            statement.setLong(index, value);
+        } else {
+            statement.setNull(index, Types.BIGINT);
+        }
+    }
+
+    private void eventCounter(String result, LongAdder count) {
+        FunctionCounter.builder("audit.writer.events", count, LongAdder::sum)
+                .description("Audit events by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Timer writeTimer(IngestMode writeMode) {
+        return Timer.builder("audit.writer.write.duration")
+                .description("Time to write one batch of audit events")
+                .tag("mode", writeMode.label())
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    private static final class AuditEvent {
+        final Long recordId;
+        final Long relatedId;
+        final String description;
+        final LocalDateTime createdAt;
+        final long enqueuedNanos;
+
+        AuditEvent(Long recordId, Long relatedId, String description) {
+            this.recordId = recordId;
+            this.relatedId = relatedId;
+            this.description = description;
+            this.createdAt = LocalDateTime.now();
+            this.enqueuedNanos = System.nanoTime();
+        }
+    }
+}
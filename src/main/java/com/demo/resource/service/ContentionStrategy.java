@@ -0,0 +1,50 @@
+package com.demo.resource.service;
+
+import java.util.Locale;
+
+/**
+ * How LockContentionService guards its shared map and list.
+ * MONITOR is the original nested synchronized pair, LOCKFREE uses a ConcurrentHashMap
+ * and a fixed-capacity lock-free ring buffer, REENTRANT uses explicit locks acquired with
+ * a tryLock timeout so overloaded requests are shed instead of queueing indefinitely, and
+ * SINGLE_WRITER hands every mutation to one writer thread through a preallocated ring.
+ */
+public enum ContentionStrategy {
+    MONITOR,
+    LOCKFREE,
+    REENTRANT,
+    SINGLE_WRITER;
+
+    /**
+     * Name as accepted and reported by the API, e.g. single-writer
+     */
+    public String label() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    /**
+     * Resolve a strategy name, falling back to the given default when no value is supplied
+     */
+    public static ContentionStrategy from(String value, ContentionStrategy fallback) {
+        if (value == null || value.trim().isEmpty()) {
+            return fallback;
+        }
+        try {
+            return ContentionStrategy.valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown contention strategy: " + value
+                    + " (expected one of " + names() + ")");
+        }
+    }
+
+    private static String names() {
+        StringBuilder sb = new StringBuilder();
+        for (ContentionStrategy strategy : values()) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(strategy.label());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,28 @@
+package com.demo.resource.service;
+
+import java.util.Locale;
+
+/**
+ * Execution engine used by the CPU load paths.
+ * BOXED is the original collection/stream implementation, PRIMITIVE uses
+ * int[]/long[] buffers and avoids per-element allocation.
+ */
+public enum CpuEngine {
+    BOXED,
+    PRIMITIVE;
+
+    /**
+     * Resolve an engine name, falling back to the given default when no value is supplied
+     */
+    public static CpuEngine from(String value, CpuEngine fallback) {
+        if (value == null || value.trim().isEmpty()) {
+            return fallback;
+        }
+        try {
+            return CpuEngine.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown CPU engine: " + value
+                    + " (expected boxed or primitive)");
+        }
+    }
+}
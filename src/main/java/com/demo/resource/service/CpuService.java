@@ -1,28 +1,44 @@
 package com.demo.resource.service;
 
+import com.demo.resource.store.PayloadStore;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 @Service
 public class CpuService {
 
-    private static final Map<String, List<byte[]>> dataStore = new ConcurrentHashMap<>();
     private static final Random random = new Random();
 
+    private static final int MAX_MATRIX_SIZE = 2048;
+
     private Counter loadCounter;
     private Counter stableCounter;
+    private Counter matrixCounter;
 
     private final MeterRegistry meterRegistry;
+    private final PrimeSieve primeSieve;
+    private final MatrixMultiplier matrixMultiplier;
+    private final CpuEngine defaultEngine;
+    private final PayloadStore dataStore;
 
-    public CpuService(MeterRegistry meterRegistry) {
+    public CpuService(MeterRegistry meterRegistry,
+                      PrimeSieve primeSieve,
+                      MatrixMultiplier matrixMultiplier,
+                      @Value("${cpu.engine:boxed}") String defaultEngine,
+                      @Value("${store.backend:heap}") String storeBackend,
+                      @Value("${store.slab-bytes:4194304}") int slabBytes) {
         this.meterRegistry = meterRegistry;
+        this.primeSieve = primeSieve;
+        this.matrixMultiplier = matrixMultiplier;
+        this.defaultEngine = CpuEngine.from(defaultEngine, CpuEngine.BOXED);
+        this.dataStore = PayloadStore.create(storeBackend, slabBytes);
     }
 
     @PostConstruct
@@ -33,51 +49,52 @@ public class CpuService {
         stableCounter = Counter.builder("cpu.stable.calls")
                 .description("Number of CPU stable endpoint calls")
                 .register(meterRegistry);
+        matrixCounter = Counter.builder("cpu.matrix.calls")
+                .description("Number of CPU matrix endpoint calls")
+                .register(meterRegistry);
     }
 
     /**
      * CPU-intensive operation that also accumulates memory
      */
     public Map<String, Object> performCpuAndMemoryLoad(int iterations, int dataSize) {
+        return performCpuAndMemoryLoad(iterations, dataSize, defaultEngine);
+    }
+
+    /**
+     * CPU-intensive operation that also accumulates memory, using the given engine
+     */
+    public Map<String, Object> performCpuAndMemoryLoad(int iterations, int dataSize, CpuEngine engine) {
         loadCounter.increment();
         
         long startTime = System.currentTimeMillis();
+        long allocatedBefore = PrimitiveKernels.currentThreadAllocatedBytes();
         
         // CPU-intensive: Calculate primes
-        List<Long> primes = calculatePrimes(iterations * 100);
+        int primeCount = countPrimes(iterations * 100, engine);
         
-        // CPU-intensive: Parallel stream operations
-        List<Integer> numbers = IntStream.range(0, iterations * 1000)
-                .boxed()
-                .collect(Collectors.toList());
-        
-        List<Integer> processed = numbers.parallelStream()
-                .filter(n -> n % 2 == 0)
-                .map(n -> n * n)
-                .sorted(Comparator.reverseOrder())
-                .limit(iterations * 100)
-                .collect(Collectors.toList());
+        // CPU-intensive: Square, sort and truncate the even numbers
+        int processedCount = processNumbers(iterations, engine);
         
         // CPU-intensive: Matrix multiplication
-        int[][] result = matrixMultiplication(50, 50);
+        matrixMultiplication(50, 50);
         
         // Memory accumulation: Store 1KB per request for very gradual accumulation
-        String key = UUID.randomUUID().toString();
-        List<byte[]> dataList = new ArrayList<>();
         byte[] data = new byte[512]; // Exactly 0.5KB per request
         random.nextBytes(data);
-        dataList.add(data);
-        dataStore.put(key, dataList);
+        dataStore.put(Collections.singletonList(data));
         
         long duration = System.currentTimeMillis() - startTime;
         
         Map<String, Object> response = new HashMap<>();
         response.put("operation", "cpu-memory-load");
-        response.put("primesCalculated", primes.size());
-        response.put("numbersProcessed", processed.size());
+        response.put("engine", engine.name().toLowerCase(Locale.ROOT));
+        response.put("primesCalculated", primeCount);
+        response.put("numbersProcessed", processedCount);
         response.put("matrixSize", "50x50");
         response.put("dataStoredMB", dataSize * 10);
         response.put("totalKeysInStore", dataStore.size());
+        response.put("allocatedBytes", allocatedBytesSince(allocatedBefore));
         response.put("durationMs", duration);
         
         return response;
@@ -87,14 +104,34 @@ public class CpuService {
      * CPU-intensive operation without memory accumulation (stateless)
      */
     public Map<String, Object> performCpuOnlyLoad(int iterations) {
+        return performCpuOnlyLoad(iterations, defaultEngine);
+    }
+
+    /**
+     * CPU-intensive operation without memory accumulation (stateless), using the given engine
+     */
+    public Map<String, Object> performCpuOnlyLoad(int iterations, CpuEngine engine) {
         stableCounter.increment();
         
         long startTime = System.currentTimeMillis();
+        long allocatedBefore = PrimitiveKernels.currentThreadAllocatedBytes();
         
-        // CPU-intensive: Fibonacci sequence
-        List<Long> fibonacci = new ArrayList<>();
-        for (int i = 0; i < iterations * 10; i++) {
-            fibonacci.add(calculateFibonacci(30));
+        int fibonacciCount;
+        int itemsSorted;
+        if (engine == CpuEngine.PRIMITIVE) {
+            // CPU-intensive: Fibonacci sequence into a long[]
+            long[] fibonacci = new long[iterations * 10];
+            for (int i = 0; i < fibonacci.length; i++) {
+                fibonacci[i] = calculateFibonacci(30);
+            }
+            fibonacciCount = fibonacci.length;
+        } else {
+            // CPU-intensive: Fibonacci sequence
+            List<Long> fibonacci = new ArrayList<>();
+            for (int i = 0; i < iterations * 10; i++) {
+                fibonacci.add(calculateFibonacci(30));
+            }
+            fibonacciCount = fibonacci.size();
         }
         
         // CPU-intensive: String operations
@@ -106,19 +143,27 @@ public class CpuService {
             }
         }
         
-        // CPU-intensive: Complex sorting
-        List<Integer> largeList = IntStream.range(0, iterations * 5000)
-                .boxed()
-                .collect(Collectors.toList());
-        Collections.shuffle(largeList);
-        largeList.sort(Comparator.reverseOrder());
+        if (engine == CpuEngine.PRIMITIVE) {
+            // CPU-intensive: Shuffle and parallel sort of an int[]
+            itemsSorted = PrimitiveKernels.shuffleAndSortDescending(iterations * 5000, random).length;
+        } else {
+            // CPU-intensive: Complex sorting
+            List<Integer> largeList = IntStream.range(0, iterations * 5000)
+                    .boxed()
+                    .collect(Collectors.toList());
+            Collections.shuffle(largeList);
+            largeList.sort(Comparator.reverseOrder());
+            itemsSorted = largeList.size();
+        }
         
         long duration = System.currentTimeMillis() - startTime;
         
         Map<String, Object> response = new HashMap<>();
         response.put("operation", "cpu-only-load");
-        response.put("fibonacciCalculations", fibonacci.size());
-        response.put("itemsSorted", largeList.size());
+        response.put("engine", engine.name().toLowerCase(Locale.ROOT));
+        response.put("fibonacciCalculations", fibonacciCount);
+        response.put("itemsSorted", itemsSorted);
+        response.put("allocatedBytes", allocatedBytesSince(allocatedBefore));
         response.put("durationMs", duration);
         
         return response;
@@ -138,6 +183,61 @@ public class CpuService {
         return response;
     }
 
+    /**
+     * Square matrix multiplication of the given size, optionally split across the CPU executor pool
+     * 
+     * @param size Rows and columns of each operand (1-2048)
+     * @param parallel Use fork/join row bands for large sizes
+     */
+    public Map<String, Object> performMatrixMultiplication(int size, boolean parallel) {
+        validateMatrixSize(size);
+        matrixCounter.increment();
+        
+        int[] a = MatrixMultiplier.randomMatrix(size, size);
+        int[] b = MatrixMultiplier.randomMatrix(size, size);
+        
+        long startNanos = System.nanoTime();
+        int[] c = matrixMultiplier.multiply(a, b, size, size, size, parallel);
+        long elapsedNanos = System.nanoTime() - startNanos;
+        
+        // Fold the product into a checksum so the work is observable and cannot be elided
+        long checksum = 0;
+        for (int value : c) {
+            checksum += value;
+        }
+        
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        double multiplyAdds = (double) size * size * size;
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("operation", "cpu-matrix");
+        response.put("matrixSize", size + "x" + size);
+        response.put("parallel", parallel);
+        response.put("parallelism", parallel ? matrixMultiplier.getParallelism() : 1);
+        response.put("checksum", checksum);
+        response.put("multiplyMs", elapsedNanos / 1_000_000.0);
+        response.put("multiplyAddsPerSecond", seconds > 0 ? multiplyAdds / seconds : 0.0);
+        response.put("timestamp", System.currentTimeMillis());
+        
+        return response;
+    }
+
+    /**
+     * Reject a matrix size outside 1-2048 before any work is queued
+     */
+    public void validateMatrixSize(int size) {
+        if (size < 1 || size > MAX_MATRIX_SIZE) {
+            throw new IllegalArgumentException("Matrix size must be between 1 and " + MAX_MATRIX_SIZE);
+        }
+    }
+
+    /**
+     * Engine used when a request does not specify one
+     */
+    public CpuEngine getDefaultEngine() {
+        return defaultEngine;
+    }
+
     /**
      * Get current data store size
      */
@@ -145,6 +245,13 @@ public class CpuService {
         return dataStore.size();
     }
 
+    /**
+     * Footprint of the payload store backing /api/cpu/load
+     */
+    public Map<String, Object> getDataStoreStats() {
+        return dataStore.stats();
+    }
+
     /**
      * Clear accumulated data
      */
@@ -152,27 +259,49 @@ public class CpuService {
         dataStore.clear();
     }
 
-    // Helper methods
+    // Helper methods (package-private kernels are driven directly by the JMH benchmarks)
     
-    private List<Long> calculatePrimes(int limit) {
-        return IntStream.range(2, limit)
-                .filter(this::isPrime)
-                .mapToLong(i -> (long) i)
+    int countPrimes(int limit, CpuEngine engine) {
+        if (engine == CpuEngine.PRIMITIVE) {
+            // Count primes straight from the sieve cache, no copy
+            return primeSieve.countBelow(limit);
+        }
+        return calculatePrimes(limit).size();
+    }
+
+    int processNumbers(int iterations, CpuEngine engine) {
+        if (engine == CpuEngine.PRIMITIVE) {
+            // Even squares with top-K selection instead of a full sort
+            int[] squares = PrimitiveKernels.evenSquares(iterations * 1000);
+            return PrimitiveKernels.topKDescending(squares, iterations * 100).length;
+        }
+        
+        // Parallel stream operations
+        List<Integer> numbers = IntStream.range(0, iterations * 1000)
                 .boxed()
                 .collect(Collectors.toList());
+        
+        List<Integer> processed = numbers.parallelStream()
+                .filter(n -> n % 2 == 0)
+                .map(n -> n * n)
+                .sorted(Comparator.reverseOrder())
+                .limit(iterations * 100)
+                .collect(Collectors.toList());
+        return processed.size();
     }
 
-    private boolean isPrime(int number) {
-        if (number <= 1) return false;
-        if (number <= 3) return true;
-        if (number % 2 == 0 || number % 3 == 0) return false;
-        
-        for (int i = 5; i * i <= number; i += 6) {
-            if (number % i == 0 || number % (i + 2) == 0) {
-                return false;
-            }
+    private long allocatedBytesSince(long allocatedBefore) {
+        long allocatedAfter = PrimitiveKernels.currentThreadAllocatedBytes();
+        return allocatedBefore < 0 || allocatedAfter < 0 ? -1 : allocatedAfter - allocatedBefore;
+    }
+
+    List<Long> calculatePrimes(int limit) {
+        int[] primes = primeSieve.primesBelow(limit);
+        List<Long> result = new ArrayList<>(primes.length);
+        for (int prime : primes) {
+            result.add((long) prime);
         }
-        return true;
+        return result;
     }
 
     private long calculateFibonacci(int n) {
@@ -187,33 +316,9 @@ public class CpuService {
         return b;
     }
 
-    private int[][] matrixMultiplication(int size1, int size2) {
-        int[][] matrix1 = new int[size1][size2];
-        int[][] matrix2 = new int[size2][size1];
-        int[][] result = new int[size1][size1];
-        
-        // Fill matrices
-        for (int i = 0; i < size1; i++) {
-            for (int j = 0; j < size2; j++) {
-                matrix1[i][j] = random.nextInt(10);
-            }
-        }
-        
-        for (int i = 0; i < size2; i++) {
-            for (int j = 0; j < size1; j++) {
-                matrix2[i][j] = random.nextInt(10);
-            }
-        }
-        
-        // Multiply
-        for (int i = 0; i < size1; i++) {
-            for (int j = 0; j < size1; j++) {
-                for (int k = 0; k < size2; k++) {
-                    result[i][j] += matrix1[i][k] * matrix2[k][j];
-                }
-            }
-        }
-        
-        return result;
+    int[] matrixMultiplication(int size1, int size2) {
+        int[] matrix1 = MatrixMultiplier.randomMatrix(size1, size2);
+        int[] matrix2 = MatrixMultiplier.randomMatrix(size2, size1);
+        return matrixMultiplier.multiply(matrix1, matrix2, size1, size2, size1, false);
     }
 }
@@ -0,0 +1,159 @@
+package com.demo.resource.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated, bounded pool for CPU-heavy endpoint work.
+ * Work runs on its own ForkJoinPool, so parallel streams and Arrays.parallelSort started
+ * from a task stay in this pool instead of the JVM-wide common pool. The sieve and matrix
+ * kernels fork their subtasks here too (see {@link #invoke}), so the pool width bounds all
+ * CPU parallelism. At most parallelism + queueCapacity tasks are admitted; the rest are
+ * rejected immediately.
+ */
+@Component
+public class CpuWorkExecutor {
+
+    private final ForkJoinPool pool;
+    private final int maxPending;
+    private final int queueCapacity;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicLong rejectedTotal = new AtomicLong();
+
+    private Counter rejectedCounter;
+    private Timer queueWaitTimer;
+    private Timer runTimer;
+
+    public CpuWorkExecutor(MeterRegistry meterRegistry,
+                           @Value("${cpu.executor.parallelism:0}") int parallelism,
+                           @Value("${cpu.executor.queue-capacity:64}") int queueCapacity) {
+        this.meterRegistry = meterRegistry;
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = Math.max(0, queueCapacity);
+        this.maxPending = threads + this.queueCapacity;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.pool = new ForkJoinPool(threads, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("cpu-work-" + threadIndex.incrementAndGet());
+            return thread;
+        }, null, false);
+    }
+
+    @PostConstruct
+    public void init() {
+        rejectedCounter = Counter.builder("cpu.executor.rejected")
+                .description("CPU tasks rejected because the executor queue was full")
+                .register(meterRegistry);
+        queueWaitTimer = Timer.builder("cpu.executor.queue.wait")
+                .description("Time CPU tasks spent queued before running")
+                .register(meterRegistry);
+        runTimer = Timer.builder("cpu.executor.run.time")
+                .description("Time CPU tasks spent running")
+                .register(meterRegistry);
+        Gauge.builder("cpu.executor.queue.depth", this, CpuWorkExecutor::getQueueDepth)
+                .description("CPU tasks admitted but not yet running")
+                .register(meterRegistry);
+        Gauge.builder("cpu.executor.active", running, AtomicInteger::get)
+                .description("CPU tasks currently running")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Run the task on the CPU pool
+     *
+     * @throws RejectedExecutionException when the pool and its queue are full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            rejectedTotal.incrementAndGet();
+            rejectedCounter.increment();
+            throw new RejectedExecutionException("CPU executor is saturated (" + maxPending + " tasks pending)");
+        }
+        long submittedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long startedAt = System.nanoTime();
+                queueWaitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                running.incrementAndGet();
+                try {
+                    return task.get();
+                } finally {
+                    running.decrementAndGet();
+                    pending.decrementAndGet();
+                    runTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            }, pool);
+        } catch (RejectedExecutionException e) {
+            // Pool is shutting down
+            pending.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Run a fork/join kernel on the CPU pool and wait for it. Called from one of the pool's own
+     * workers (an admitted task) it forks in place; from any other thread it is handed to the pool,
+     * without going through admission.
+     */
+    public <T> T invoke(ForkJoinTask<T> task) {
+        if (ForkJoinTask.getPool() == pool) {
+            return task.invoke();
+        }
+        return pool.invoke(task);
+    }
+
+    /**
+     * Worker threads available to tasks and kernels
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public int getQueueDepth() {
+        return Math.max(0, pending.get() - running.get());
+    }
+
+    /**
+     * Executor state for the metrics endpoint
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("parallelism", pool.getParallelism());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("queueDepth", getQueueDepth());
+        stats.put("activeTasks", running.get());
+        stats.put("rejectedTotal", rejectedTotal.get());
+        stats.put("completedTasks", runTimer.count());
+        stats.put("meanRunTimeMs", runTimer.mean(TimeUnit.MILLISECONDS));
+        stats.put("meanQueueWaitMs", queueWaitTimer.mean(TimeUnit.MILLISECONDS));
+        return stats;
+    }
+}
@@ -0,0 +1,96 @@
+package com.demo.resource.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 reader: quoted fields may hold separators, doubled quotes and line breaks.
+ * Reads one record at a time, so memory is bounded by the longest record.
+ */
+final class CsvRecordReader {
+
+    private final Reader reader;
+    private final StringBuilder field = new StringBuilder(256);
+    private int pushedBack = -2;
+    private long line = 1;
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Next record's fields, or null at end of input. Unquoted empty fields are returned as null.
+     */
+    List<String> next() throws IOException {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        while (true) {
+            field.setLength(0);
+            boolean quoted = false;
+            if (c == '"') {
+                quoted = true;
+                while (true) {
+                    c = read();
+                    if (c == -1) {
+                        throw new IllegalArgumentException("Unterminated quoted field at line " + line);
+                    }
+                    if (c == '"') {
+                        c = read();
+                        if (c != '"') {
+                            break;
+                        }
+                    }
+                    field.append((char) c);
+                }
+            } else {
+                while (c != ',' && c != '\n' && c != '\r' && c != -1) {
+                    field.append((char) c);
+                    c = read();
+                }
+            }
+            fields.add(quoted || field.length() > 0 ? field.toString() : null);
+            if (c == ',') {
+                c = read();
+                continue;
+            }
+            if (c == '\r') {
+                int lf = read();
+                if (lf != '\n') {
+                    pushedBack = lf;
+                }
+            } else if (c != '\n' && c != -1) {
+                throw new IllegalArgumentException("Unexpected character after quoted field at line " + line);
+            }
+            return fields;
+        }
+    }
+
+    /**
+     * Line the reader has reached, for error messages
+     */
+    long line() {
+        return line;
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pushedBack != -2) {
+            c = pushedBack;
+            pushedBack = -2;
+        } else {
+            c = reader.read();
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+}
@@ -0,0 +1,185 @@
+package com.demo.resource.service;
+
+import com.demo.resource.concurrent.NearCache;
+import com.demo.resource.entity.DataRecord;
+import com.demo.resource.repository.DataRecordRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Near cache for data_record id lookups (findByIdFast), holding immutable snapshots.
+ *
+ * Updates and deletes of DataRecord through JPA invalidate the id twice: when Hibernate
+ * flushes the change, and again after the transaction commits, so a lookup that read the
+ * old row in between cannot leave it cached. Bulk SQL writes must call {@link #clear()}.
+ */
+@Service
+@Profile("!locks")
+public class DataRecordCache {
+
+    private static final String CACHE_NAME = "data-record";
+
+    private final DataRecordRepository dataRecordRepository;
+    private final MeterRegistry meterRegistry;
+    private final EntityManagerFactory entityManagerFactory;
+    // Null when disabled: every lookup goes to the database
+    private final NearCache<Long, RecordSnapshot> cache;
+
+    private Timer loadTimer;
+
+    public DataRecordCache(DataRecordRepository dataRecordRepository,
+                           MeterRegistry meterRegistry,
+                           EntityManagerFactory entityManagerFactory,
+                           @Value("${db.cache.record.enabled:false}") boolean enabled,
+                           @Value("${db.cache.record.max-size:10000}") int maxSize,
+                           @Value("${db.cache.record.segments:16}") int segments) {
+        this.dataRecordRepository = dataRecordRepository;
+        this.meterRegistry = meterRegistry;
+        this.entityManagerFactory = entityManagerFactory;
+        this.cache = enabled && maxSize > 0 ? new NearCache<>(maxSize, segments) : null;
+    }
+
+    @PostConstruct
+    public void init() {
+        loadTimer = Timer.builder("cache.load.duration")
+                .description("Database lookups made for near-cache misses")
+                .tag("cache", CACHE_NAME)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        if (cache == null) {
+            return;
+        }
+        cacheCounter("cache.gets", "Near-cache lookups", "result", "hit", NearCache::hits);
+        cacheCounter("cache.gets", "Near-cache lookups", "result", "miss", NearCache::misses);
+        cacheCounter("cache.evictions", "Entries evicted to stay within max size", null, null, NearCache::evictions);
+        cacheCounter("cache.load.coalesced", "Misses that waited on another caller's load", null, null,
+                NearCache::coalesced);
+        cacheCounter("cache.load.failures", "Loads that threw", null, null, NearCache::loadFailures);
+        Gauge.builder("cache.size", cache, NearCache::size)
+                .description("Entries in the near cache")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+
+        InvalidationListener listener = new InvalidationListener();
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+    }
+
+    /**
+     * Record summary by id, from the cache when present; null when no such record
+     */
+    public RecordSnapshot findById(Long id) {
+        if (cache == null) {
+            return load(id);
+        }
+        return cache.get(id, this::load);
+    }
+
+    public void invalidate(Long id) {
+        if (cache != null) {
+            cache.invalidate(id);
+        }
+    }
+
+    /**
+     * Drop every entry, for writes that bypass JPA (truncate, COPY, bulk SQL)
+     */
+    public void clear() {
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", cache != null);
+        if (cache != null) {
+            long hits = cache.hits();
+            long lookups = hits + cache.misses();
+            stats.put("size", cache.size());
+            stats.put("maxSize", cache.maxSize());
+            stats.put("hits", hits);
+            stats.put("misses", cache.misses());
+            stats.put("hitRatio", lookups > 0 ? (double) hits / lookups : 0.0);
+            stats.put("loads", cache.loads());
+            stats.put("coalescedLoads", cache.coalesced());
+            stats.put("evictions", cache.evictions());
+        }
+        stats.put("loadMeanMs", loadTimer.mean(TimeUnit.MILLISECONDS));
+        return stats;
+    }
+
+    private RecordSnapshot load(Long id) {
+        DataRecord record = loadTimer.record(() -> dataRecordRepository.findByIdFast(id));
+        return record != null ? RecordSnapshot.of(record) : null;
+    }
+
+    private void cacheCounter(String name, String description, String tagKey, String tagValue,
+                              ToDoubleFunction<NearCache<Long, RecordSnapshot>> count) {
+        FunctionCounter.Builder<NearCache<Long, RecordSnapshot>> builder = FunctionCounter.builder(name, cache, count)
+                .description(description)
+                .tag("cache", CACHE_NAME);
+        if (tagKey != null) {
+            builder.tag(tagKey, tagValue);
+        }
+        builder.register(meterRegistry);
+    }
+
+    private final class InvalidationListener implements PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            if (event.getEntity() instanceof DataRecord) {
+                invalidate((Long) event.getId());
+            }
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            if (event.getEntity() instanceof DataRecord) {
+                invalidate((Long) event.getId());
+            }
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+            onPostUpdate(event);
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+            onPostDelete(event);
+        }
+
+        // Abstract in Hibernate 5.6 despite the deprecation, so it has to be implemented
+        @SuppressWarnings("deprecation")
+        @Override
+        public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return DataRecord.class.equals(persister.getMappedClass());
+        }
+    }
+}
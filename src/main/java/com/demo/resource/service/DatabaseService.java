@@ -5,38 +5,147 @@ import com.demo.resource.entity.DataRecord;
 import com.demo.resource.entity.RelatedEntity;
 import com.demo.resource.repository.AuditLogRepository;
 import com.demo.resource.repository.DataRecordRepository;
+import com.demo.resource.repository.RecordSummary;
+import com.demo.resource.repository.RelatedCount;
 import com.demo.resource.repository.RelatedEntityRepository;
+import com.demo.resource.repository.SqlStatementCounter;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.sql.DataSource;
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
 
 @Service
-@ConditionalOnBean(DataSource.class)
+// The locks profile excludes the DataSource auto-configuration. @ConditionalOnBean(DataSource.class)
+// is evaluated before auto-configured beans exist on component-scanned classes, so it never matched
+@Profile("!locks")
 public class DatabaseService {
 
+    private static final Logger log = LoggerFactory.getLogger(DatabaseService.class);
+    private static final int DEFERRED_QUEUE_CAPACITY = 1000;
+    private static final int FAN_OUT_QUEUE_CAPACITY = 256;
+    private static final int FAST_BRANCHES = 4;
+
     private final DataRecordRepository dataRecordRepository;
     private final RelatedEntityRepository relatedEntityRepository;
     private final AuditLogRepository auditLogRepository;
     private final MeterRegistry meterRegistry;
+    private final DataRecordCache dataRecordCache;
+    private final QueryResultCache queryResultCache;
+    private final FetchStrategy defaultFetchStrategy;
+    private final int fetchBatchSize;
+    private final SlowExecution defaultSlowExecution;
+    // Each deferred query runs in its own short read-only transaction
+    private final TransactionTemplate readOnlyUnit;
+    private final ThreadPoolExecutor slowWorkers;
+    private final ScheduledExecutorService slowScheduler;
+    private final boolean fastParallelDefault;
+    private final long fastDeadlineMs;
+    private final ThreadPoolExecutor fastFanOut;
+    // Admitted fan-out requests; the pool has FAST_BRANCHES threads per permit, so admitted branches never queue
+    private final Semaphore fastInFlight;
+    private final int fastMaxInFlight;
+    private final TransactionTemplate fastBranchTransaction;
+    // Runs on the branch transaction's connection, which JpaTransactionManager exposes to JDBC
+    private final JdbcTemplate jdbcTemplate;
 
     private Counter slowCounter;
     private Counter fastCounter;
+    private Timer blockingHoldTimer;
+    private Timer deferredHoldTimer;
 
     public DatabaseService(DataRecordRepository dataRecordRepository,
                           RelatedEntityRepository relatedEntityRepository,
                           AuditLogRepository auditLogRepository,
-                          MeterRegistry meterRegistry) {
+                          MeterRegistry meterRegistry,
+                          DataRecordCache dataRecordCache,
+                          QueryResultCache queryResultCache,
+                          PlatformTransactionManager transactionManager,
+                          DataSource dataSource,
+                          @Value("${db.slow.fetch-strategy:lazy}") String defaultFetchStrategy,
+                          @Value("${db.fetch.batch-size:25}") int fetchBatchSize,
+                          @Value("${db.slow.execution:blocking}") String defaultSlowExecution,
+                          @Value("${db.slow.deferred.workers:8}") int deferredWorkers,
+                          @Value("${db.fast.parallel.enabled:false}") boolean fastParallelDefault,
+                          @Value("${db.fast.parallel.max-in-flight:2}") int fastMaxInFlight,
+                          @Value("${db.fast.parallel.deadline-ms:2000}") long fastDeadlineMs,
+                          @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize) {
         this.dataRecordRepository = dataRecordRepository;
         this.relatedEntityRepository = relatedEntityRepository;
         this.auditLogRepository = auditLogRepository;
         this.meterRegistry = meterRegistry;
+        this.dataRecordCache = dataRecordCache;
+        this.queryResultCache = queryResultCache;
+        this.defaultFetchStrategy = FetchStrategy.from(defaultFetchStrategy, FetchStrategy.LAZY);
+        this.fetchBatchSize = Math.max(1, fetchBatchSize);
+        this.defaultSlowExecution = SlowExecution.from(defaultSlowExecution, SlowExecution.BLOCKING);
+        this.readOnlyUnit = new TransactionTemplate(transactionManager);
+        this.readOnlyUnit.setReadOnly(true);
+        int workers = Math.max(1, deferredWorkers);
+        AtomicInteger threadCount = new AtomicInteger();
+        // Bounds the connections deferred requests use at once, whatever their number
+        this.slowWorkers = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(DEFERRED_QUEUE_CAPACITY), r -> {
+                    Thread thread = new Thread(r, "db-slow-worker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.slowScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "db-slow-delay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.fastParallelDefault = fastParallelDefault;
+        this.fastDeadlineMs = Math.max(1, fastDeadlineMs);
+        this.fastBranchTransaction = new TransactionTemplate(transactionManager);
+        this.fastBranchTransaction.setReadOnly(true);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // Each fan-out thread holds at most one connection; keep at least half the pool for everything else
+        this.fastMaxInFlight = Math.max(1, Math.min(fastMaxInFlight, connectionPoolSize / 2 / FAST_BRANCHES));
+        if (this.fastMaxInFlight < fastMaxInFlight) {
+            log.warn("db.fast.parallel.max-in-flight={} capped at {} for a pool of {} connections",
+                    fastMaxInFlight, this.fastMaxInFlight, connectionPoolSize);
+        }
+        this.fastInFlight = new Semaphore(this.fastMaxInFlight);
+        int fanOutThreads = this.fastMaxInFlight * FAST_BRANCHES;
+        AtomicInteger fanOutCount = new AtomicInteger();
+        this.fastFanOut = new ThreadPoolExecutor(fanOutThreads, fanOutThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(FAN_OUT_QUEUE_CAPACITY), r -> {
+                    Thread thread = new Thread(r, "db-fast-fanout-" + fanOutCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
     }
 
     @PostConstruct
@@ -47,6 +156,15 @@ public class DatabaseService {
         fastCounter = Counter.builder("database.fast.calls")
                 .description("Number of fast database endpoint calls")
                 .register(meterRegistry);
+        blockingHoldTimer = connectionHoldTimer(SlowExecution.BLOCKING);
+        deferredHoldTimer = connectionHoldTimer(SlowExecution.DEFERRED);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        slowScheduler.shutdownNow();
+        slowWorkers.shutdownNow();
+        fastFanOut.shutdownNow();
     }
 
     /**
@@ -54,20 +172,25 @@ public class DatabaseService {
      */
     @Transactional
     public Map<String, Object> performSlowDatabaseOperations() {
+        return performSlowDatabaseOperations(defaultFetchStrategy);
+    }
+
+    /**
+     * Slow database operations, loading the related entities of query 1 with the given fetch plan
+     */
+    @Transactional
+    public Map<String, Object> performSlowDatabaseOperations(FetchStrategy fetchStrategy) {
         slowCounter.increment();
         
         long startTime = System.currentTimeMillis();
+        long statementsAtStart = SqlStatementCounter.current();
         
-        // Slow query 1: N+1 problem - fetch limited records then iterate lazy relationships
+        // Slow query 1: 100 records and their related entities, loaded per the fetch strategy
         // FIXED: Limit to 100 records instead of all 75,000 to prevent OOM and connection exhaustion
         Random random = new Random();
         int offset = random.nextInt(74900); // Random offset for variety
-        List<DataRecord> allRecords = dataRecordRepository.findLimitedRecords(offset, 100);
-        int relatedCount = 0;
-        for (DataRecord record : allRecords) {
-            // This triggers N+1 queries due to lazy loading
-            relatedCount += record.getRelatedEntities().size();
-        }
+        FetchResult fetched = fetchRelated(fetchStrategy, offset, 100);
+        long relatedStatements = SqlStatementCounter.current() - statementsAtStart;
         
         // Artificial delay to simulate slow processing
         try {
@@ -112,16 +235,192 @@ public class DatabaseService {
         
         Map<String, Object> response = new HashMap<>();
         response.put("operation", "database-slow");
-        response.put("recordsFetched", allRecords.size());
-        response.put("relatedEntitiesCount", relatedCount);
+        response.put("fetchStrategy", fetchStrategy.label());
+        response.put("recordsFetched", fetched.records);
+        response.put("relatedEntitiesCount", fetched.related);
+        response.put("relatedFetchStatements", relatedStatements);
+        response.put("sqlStatements", SqlStatementCounter.current() - statementsAtStart);
         response.put("searchResults", searchResults.size());
         response.put("complexResults", complexResults.size());
         response.put("auditResults", auditResults.size());
         response.put("durationMs", duration);
+        response.put("execution", SlowExecution.BLOCKING.label());
+        // The transaction, and with it the connection, spans the whole method including the sleeps
+        response.put("connectionHoldMs", duration);
+        blockingHoldTimer.record(duration, TimeUnit.MILLISECONDS);
         
         return response;
     }
 
+    /**
+     * The slow path's queries and delays without holding a connection or thread across the delays.
+     * Each query is a read-only transaction on the worker pool; the delays are timers on the
+     * scheduler. Completes exceptionally with RejectedExecutionException when the workers are saturated.
+     * Cancelling the returned future stops the run: no further query is started and no further
+     * delay is scheduled.
+     */
+    public CompletableFuture<Map<String, Object>> performSlowDatabaseOperationsDeferred(FetchStrategy fetchStrategy) {
+        slowCounter.increment();
+        
+        long startTime = System.currentTimeMillis();
+        Random random = new Random();
+        int offset = random.nextInt(74900);
+        String category = "category_" + random.nextInt(10);
+        String status = "status_" + random.nextInt(5);
+        DeferredRun run = new DeferredRun();
+        
+        CompletableFuture<Map<String, Object>> result = unit(run, () -> {
+                    long statementsAtStart = SqlStatementCounter.current();
+                    run.fetched = fetchRelated(fetchStrategy, offset, 100);
+                    run.relatedStatements = SqlStatementCounter.current() - statementsAtStart;
+                })
+                .thenCompose(v -> delay(run, 200))
+                .thenCompose(v -> unit(run, () ->
+                        run.searchResults = dataRecordRepository.findByPayloadContainingLimit("data", 50).size()))
+                .thenCompose(v -> delay(run, 150))
+                .thenCompose(v -> unit(run, () ->
+                        run.complexResults = dataRecordRepository.findByComplexCriteriaLimit(category, status, 50).size()))
+                .thenCompose(v -> delay(run, 100))
+                .thenCompose(v -> unit(run, () ->
+                        run.auditResults = auditLogRepository.findByRecordCategoryContainingLimit("category", 50).size()))
+                .thenCompose(v -> delay(run, 200))
+                .thenApply(v -> {
+                    long duration = System.currentTimeMillis() - startTime;
+                    double holdMs = run.holdNanos / 1_000_000.0;
+                    deferredHoldTimer.record(run.holdNanos, TimeUnit.NANOSECONDS);
+                    
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("operation", "database-slow");
+                    response.put("fetchStrategy", fetchStrategy.label());
+                    response.put("recordsFetched", run.fetched.records);
+                    response.put("relatedEntitiesCount", run.fetched.related);
+                    response.put("relatedFetchStatements", run.relatedStatements);
+                    response.put("sqlStatements", run.statements);
+                    response.put("searchResults", run.searchResults);
+                    response.put("complexResults", run.complexResults);
+                    response.put("auditResults", run.auditResults);
+                    response.put("durationMs", duration);
+                    response.put("execution", SlowExecution.DEFERRED.label());
+                    response.put("transactions", run.transactions);
+                    response.put("connectionHoldMs", holdMs);
+                    response.put("connectionHoldRatio", duration > 0 ? holdMs / duration : 0.0);
+                    return response;
+                });
+        // Cancelling the last stage does not reach the earlier ones, so the stages check this flag themselves
+        result.whenComplete((response, failure) -> {
+            if (failure instanceof CancellationException) {
+                run.cancelled = true;
+            }
+        });
+        return result;
+    }
+
+    public FetchStrategy getDefaultFetchStrategy() {
+        return defaultFetchStrategy;
+    }
+
+    public SlowExecution getDefaultSlowExecution() {
+        return defaultSlowExecution;
+    }
+
+    // One query of a deferred run: a read-only transaction on a worker, timed from begin to commit
+    private CompletableFuture<Void> unit(DeferredRun run, Runnable work) {
+        if (run.cancelled) {
+            return cancelled();
+        }
+        try {
+            return CompletableFuture.runAsync(() -> {
+                if (run.cancelled) {
+                    // Queued behind other runs and abandoned meanwhile: skip the transaction
+                    throw new CancellationException();
+                }
+                long statementsAtStart = SqlStatementCounter.current();
+                long startNanos = System.nanoTime();
+                readOnlyUnit.executeWithoutResult(status -> work.run());
+                run.holdNanos += System.nanoTime() - startNanos;
+                run.statements += SqlStatementCounter.current() - statementsAtStart;
+                run.transactions++;
+            }, slowWorkers);
+        } catch (RejectedExecutionException e) {
+            CompletableFuture<Void> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(e);
+            return rejected;
+        }
+    }
+
+    private CompletableFuture<Void> delay(DeferredRun run, long millis) {
+        if (run.cancelled) {
+            return cancelled();
+        }
+        CompletableFuture<Void> elapsed = new CompletableFuture<>();
+        slowScheduler.schedule(() -> elapsed.complete(null), millis, TimeUnit.MILLISECONDS);
+        return elapsed;
+    }
+
+    private static CompletableFuture<Void> cancelled() {
+        CompletableFuture<Void> cancelled = new CompletableFuture<>();
+        cancelled.cancel(false);
+        return cancelled;
+    }
+
+    private Timer connectionHoldTimer(SlowExecution execution) {
+        return Timer.builder("database.slow.connection.hold")
+                .description("Time /api/db/slow requests hold a pooled connection")
+                .tag("execution", execution.label())
+                .register(meterRegistry);
+    }
+
+    private FetchResult fetchRelated(FetchStrategy fetchStrategy, int offset, int limit) {
+        FetchResult result = new FetchResult();
+        switch (fetchStrategy) {
+            case ENTITY_GRAPH: {
+                // Two statements: the id window, then records joined with their related entities
+                List<Long> ids = dataRecordRepository.findLimitedIds(offset, limit);
+                List<DataRecord> records = ids.isEmpty()
+                        ? Collections.<DataRecord>emptyList()
+                        : dataRecordRepository.findWithRelatedEntitiesByIdIn(ids);
+                result.records = records.size();
+                for (DataRecord record : records) {
+                    result.related += record.getRelatedEntities().size();
+                }
+                break;
+            }
+            case BATCH: {
+                // 1 + ceil(records / batch size) statements
+                List<DataRecord> records = dataRecordRepository.findLimitedRecords(offset, limit);
+                result.records = records.size();
+                List<Long> ids = new ArrayList<>(records.size());
+                for (DataRecord record : records) {
+                    ids.add(record.getId());
+                }
+                for (int from = 0; from < ids.size(); from += fetchBatchSize) {
+                    List<Long> batch = ids.subList(from, Math.min(from + fetchBatchSize, ids.size()));
+                    result.related += relatedEntityRepository.findByDataRecordIdIn(batch).size();
+                }
+                break;
+            }
+            case COUNT: {
+                // One aggregate statement, no entities materialised
+                List<RelatedCount> counts = dataRecordRepository.countRelatedForLimitedRecords(offset, limit);
+                result.records = counts.size();
+                for (RelatedCount count : counts) {
+                    result.related += count.getRelatedCount();
+                }
+                break;
+            }
+            default: {
+                List<DataRecord> records = dataRecordRepository.findLimitedRecords(offset, limit);
+                result.records = records.size();
+                for (DataRecord record : records) {
+                    // This triggers N+1 queries due to lazy loading
+                    result.related += record.getRelatedEntities().size();
+                }
+                break;
+            }
+        }
+        return result;
+    }
+
     /**
      * Fast database operations with optimized queries
      */
@@ -133,17 +432,17 @@ public class DatabaseService {
         
         Random random = new Random();
         
-        // Fast query 1: Direct ID lookup
+        // Fast query 1: Direct ID lookup, through the near cache when enabled
         Long randomId = (long) (random.nextInt(70000) + 1);
-        DataRecord record = dataRecordRepository.findByIdFast(randomId);
+        RecordSnapshot record = dataRecordCache.findById(randomId);
         
-        // Fast query 2: Indexed category search with limit
+        // Fast query 2: Indexed category search with limit, through the result cache when enabled
         String category = "category_" + random.nextInt(10);
-        List<DataRecord> categoryResults = dataRecordRepository.findByCategoryFast(category);
+        List<RecordSnapshot> categoryResults = queryResultCache.recordsByCategory(category);
         
-        // Fast query 3: Indexed status search with limit
+        // Fast query 3: Indexed status search with limit, through the result cache when enabled
         String status = "status_" + random.nextInt(5);
-        List<RelatedEntity> statusResults = relatedEntityRepository.findByStatusFast(status);
+        List<RelatedSnapshot> statusResults = queryResultCache.relatedByStatus(status);
         
         // Fast query 4: Simple audit log query with limit
         Long afterId = (long) (random.nextInt(150000) + 1);
@@ -158,6 +457,221 @@ public class DatabaseService {
         response.put("statusResults", statusResults.size());
         response.put("auditResults", auditResults.size());
         response.put("durationMs", duration);
+        response.put("execution", "sequential");
+        
+        return response;
+    }
+
+    /**
+     * The fast path's four independent queries run concurrently on the fan-out pool, each in its
+     * own read-only transaction, so latency approaches the slowest one instead of their sum.
+     * Deliberately not transactional: the caller holds no connection while it waits.
+     * At most db.fast.parallel.max-in-flight calls fan out at once; the rest wait for a slot until
+     * their deadline. Each query's statement_timeout is the time left before the deadline. A
+     * failing branch or the db.fast.parallel.deadline-ms deadline cancels the branches still
+     * queued or running; a deadline miss is reported as IllegalStateException caused by
+     * TimeoutException, no free slot in time as RejectedExecutionException.
+     */
+    public Map<String, Object> performFastDatabaseOperationsParallel() {
+        fastCounter.increment();
+        
+        long startTime = System.currentTimeMillis();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fastDeadlineMs);
+        
+        Random random = new Random();
+        Long randomId = (long) (random.nextInt(70000) + 1);
+        String category = "category_" + random.nextInt(10);
+        String status = "status_" + random.nextInt(5);
+        Long afterId = (long) (random.nextInt(150000) + 1);
+        
+        FastSlot slot = acquireFastSlot(deadline);
+        CompletionService<FastBranch> completion = new ExecutorCompletionService<>(fastFanOut);
+        List<Future<FastBranch>> branches = new ArrayList<>(FAST_BRANCHES);
+        Map<String, Object> branchMs = new HashMap<>();
+        FastBranch record = null;
+        FastBranch categoryBranch = null;
+        FastBranch statusBranch = null;
+        FastBranch audit = null;
+        try {
+            branches.add(completion.submit(slot.branch(0, () -> fastBranch("record", deadline,
+                    () -> dataRecordCache.findById(randomId) != null ? 1 : 0))));
+            branches.add(completion.submit(slot.branch(1, () -> fastBranch("category", deadline,
+                    () -> queryResultCache.recordsByCategory(category).size()))));
+            branches.add(completion.submit(slot.branch(2, () -> fastBranch("status", deadline,
+                    () -> queryResultCache.relatedByStatus(status).size()))));
+            branches.add(completion.submit(slot.branch(3, () -> fastBranch("audit", deadline,
+                    () -> auditLogRepository.findRecentFast(afterId).size()))));
+            
+            for (int done = 0; done < FAST_BRANCHES; done++) {
+                long remaining = deadline - System.nanoTime();
+                Future<FastBranch> next = remaining > 0 ? completion.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                if (next == null) {
+                    throw new IllegalStateException("Fast operations missed their deadline of " + fastDeadlineMs + " ms",
+                            new TimeoutException());
+                }
+                FastBranch branch = next.get();
+                branchMs.put(branch.name, branch.millis);
+                switch (branch.name) {
+                    case "record":
+                        record = branch;
+                        break;
+                    case "category":
+                        categoryBranch = branch;
+                        break;
+                    case "status":
+                        statusBranch = branch;
+                        break;
+                    default:
+                        audit = branch;
+                        break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for fast operations", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause
+                    : new IllegalStateException("Fast operation failed: " + cause.getMessage(), cause);
+        } finally {
+            // No-op once all branches are done; otherwise drops queued branches and interrupts running ones
+            for (Future<FastBranch> branch : branches) {
+                branch.cancel(true);
+            }
+            slot.abandonUnstarted();
+        }
+        
+        long duration = System.currentTimeMillis() - startTime;
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("operation", "database-fast");
+        response.put("recordFound", record.rows > 0);
+        response.put("categoryResults", categoryBranch.rows);
+        response.put("statusResults", statusBranch.rows);
+        response.put("auditResults", audit.rows);
+        response.put("durationMs", duration);
+        response.put("execution", "parallel");
+        response.put("branchMs", branchMs);
+        
+        return response;
+    }
+
+    public boolean isFastParallelDefault() {
+        return fastParallelDefault;
+    }
+
+    private FastSlot acquireFastSlot(long deadline) {
+        try {
+            if (!fastInFlight.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                throw new RejectedExecutionException("Fast operation fan-out is at its limit of "
+                        + fastMaxInFlight + " concurrent calls");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for a fan-out slot", e);
+        }
+        return new FastSlot();
+    }
+
+    private FastBranch fastBranch(String name, long deadline, IntSupplier query) {
+        long startNanos = System.nanoTime();
+        Integer rows = fastBranchTransaction.execute(status -> {
+            // Interrupting the branch does not stop a pgjdbc socket read, so the server enforces the deadline.
+            // SET LOCAL ends with the transaction, before the connection goes back to the pool
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMs <= 0) {
+                throw new IllegalStateException("No time left for the " + name + " query", new TimeoutException());
+            }
+            jdbcTemplate.execute("SET LOCAL statement_timeout = " + remainingMs);
+            return query.getAsInt();
+        });
+        return new FastBranch(name, rows != null ? rows : 0, (System.nanoTime() - startNanos) / 1_000_000.0);
+    }
+
+    /**
+     * One keyset page of data_record. The cursor from the previous page holds its last key,
+     * so each page is an index seek of size rows however deep the client has paged.
+     * 
+     * @param category optional filter, only with sort=id (served by the (category, id) index)
+     * @param cursor nextCursor of the previous page, null for the first page
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> pageRecords(RecordSort sort, String category, String cursor, int size) {
+        boolean filtered = category != null && !category.isEmpty();
+        if (filtered && sort != RecordSort.ID) {
+            throw new IllegalArgumentException("category filter is only supported with sort=id");
+        }
+        int limit = Math.max(1, Math.min(500, size));
+        KeysetCursor after = cursor != null && !cursor.isEmpty() ? KeysetCursor.decode(cursor, sort) : null;
+        
+        long startTime = System.nanoTime();
+        List<RecordSummary> page;
+        switch (sort) {
+            case CATEGORY:
+                if (after != null && after.key == null) {
+                    page = dataRecordRepository.findNullCategoryPage(after.id, limit);
+                    break;
+                }
+                page = new ArrayList<>(after == null
+                        ? dataRecordRepository.findFirstPageByCategoryOrder(limit)
+                        : dataRecordRepository.findPageByCategoryOrder(after.key, after.id, limit));
+                // Past the last category: continue into the rows without one
+                if (page.size() < limit) {
+                    page.addAll(dataRecordRepository.findNullCategoryPage(0, limit - page.size()));
+                }
+                break;
+            case TIMESTAMP:
+                if (after != null && after.key == null) {
+                    page = dataRecordRepository.findNullTimestampPage(after.id, limit);
+                    break;
+                }
+                page = new ArrayList<>(after == null
+                        ? dataRecordRepository.findFirstPageByTimestampDesc(limit)
+                        : dataRecordRepository.findPageByTimestampDesc(after.timestampKey(), after.id, limit));
+                if (page.size() < limit) {
+                    page.addAll(dataRecordRepository.findNullTimestampPage(Long.MAX_VALUE, limit - page.size()));
+                }
+                break;
+            default: {
+                long afterId = after == null ? 0 : after.id;
+                page = filtered
+                        ? dataRecordRepository.findPageByCategoryAndId(category, afterId, limit)
+                        : dataRecordRepository.findPageById(afterId, limit);
+                break;
+            }
+        }
+        double queryMs = (System.nanoTime() - startTime) / 1_000_000.0;
+        
+        List<Map<String, Object>> records = new ArrayList<>(page.size());
+        for (RecordSummary summary : page) {
+            Map<String, Object> record = new HashMap<>();
+            record.put("id", summary.getId());
+            record.put("category", summary.getCategory());
+            record.put("timestamp", summary.getTimestamp());
+            record.put("amount", summary.getAmount());
+            records.add(record);
+        }
+        
+        String nextCursor = null;
+        if (page.size() == limit) {
+            RecordSummary last = page.get(page.size() - 1);
+            // A NULL key puts the cursor in the tail segment
+            String key = sort == RecordSort.CATEGORY ? last.getCategory()
+                    : sort == RecordSort.TIMESTAMP && last.getTimestamp() != null ? last.getTimestamp().toString() : null;
+            nextCursor = new KeysetCursor(sort, key, last.getId()).encode();
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("operation", "database-page");
+        response.put("sort", sort.label());
+        if (filtered) {
+            response.put("category", category);
+        }
+        response.put("size", limit);
+        response.put("returned", records.size());
+        response.put("records", records);
+        response.put("nextCursor", nextCursor);
+        response.put("queryMs", queryMs);
         
         return response;
     }
@@ -189,7 +703,88 @@ public class DatabaseService {
         stats.put("dataRecordCount", recordCount);
         stats.put("relatedEntityCount", relatedCount);
         stats.put("auditLogCount", auditCount);
+        stats.put("recordCache", dataRecordCache.getStats());
+        stats.put("queryCache", queryResultCache.getStats());
         
         return stats;
     }
+
+    private static final class FetchResult {
+        int records;
+        int related;
+    }
+
+    /**
+     * One admitted fan-out call. Its in-flight permit comes back only once every branch has finished
+     * running or was dropped before it started, so a branch still blocked in the driver after the
+     * caller gave up keeps its thread counted.
+     */
+    private final class FastSlot {
+        private final AtomicBoolean[] started = new AtomicBoolean[FAST_BRANCHES];
+        private final AtomicInteger outstanding = new AtomicInteger(FAST_BRANCHES);
+
+        FastSlot() {
+            for (int i = 0; i < FAST_BRANCHES; i++) {
+                started[i] = new AtomicBoolean();
+            }
+        }
+
+        Callable<FastBranch> branch(int index, Callable<FastBranch> task) {
+            AtomicBoolean claim = started[index];
+            return () -> {
+                if (!claim.compareAndSet(false, true)) {
+                    // The caller already gave up and returned this branch's share
+                    return null;
+                }
+                try {
+                    return task.call();
+                } finally {
+                    branchDone();
+                }
+            };
+        }
+
+        /**
+         * Return the share of every branch that has not started, and never will
+         */
+        void abandonUnstarted() {
+            for (AtomicBoolean claim : started) {
+                if (claim.compareAndSet(false, true)) {
+                    branchDone();
+                }
+            }
+        }
+
+        private void branchDone() {
+            if (outstanding.decrementAndGet() == 0) {
+                fastInFlight.release();
+            }
+        }
+    }
+
+    private static final class FastBranch {
+        final String name;
+        final int rows;
+        final double millis;
+
+        FastBranch(String name, int rows, double millis) {
+            this.name = name;
+            this.rows = rows;
+            this.millis = millis;
+        }
+    }
+
+    // State of one deferred slow run; its units run one after another, each completion
+    // happening-before the next unit starts, so plain fields are safe; cancelled is set from outside the chain
+    private static final class DeferredRun {
+        volatile boolean cancelled;
+        FetchResult fetched;
+        long relatedStatements;
+        long statements;
+        int searchResults;
+        int complexResults;
+        int auditResults;
+        int transactions;
+        long holdNanos;
+    }
 }
@@ -0,0 +1,46 @@
+package com.demo.resource.service;
+
+import java.util.Locale;
+
+/**
+ * Row encoding for /api/db/export: NDJSON (one JSON object per line) or CSV with a header row
+ */
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Resolve a format name, falling back to the given default when no value is supplied
+     */
+    public static ExportFormat from(String value, ExportFormat fallback) {
+        if (value == null || value.trim().isEmpty()) {
+            return fallback;
+        }
+        try {
+            return ExportFormat.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown export format: " + value
+                    + " (expected ndjson or csv)");
+        }
+    }
+}
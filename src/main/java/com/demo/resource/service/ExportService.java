@@ -0,0 +1,234 @@
+package com.demo.resource.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams whole tables out as NDJSON or CSV in constant memory.
+ *
+ * Rows are read over plain JDBC inside a read-only transaction with a fetch size, so the
+ * PostgreSQL driver uses a server-side cursor and holds one batch at a time; nothing goes
+ * through JPA or its persistence context. Each row is written straight to the response stream.
+ */
+@Service
+@Profile("!locks")
+public class ExportService {
+
+    private static final int OUTPUT_BUFFER_BYTES = 64 * 1024;
+
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final long timeoutMs;
+
+    public ExportService(DataSource dataSource,
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${db.export.fetch-size:1000}") int fetchSize,
+                         @Value("${db.export.timeout-ms:1800000}") long timeoutMs) {
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        // A positive fetch size inside a transaction makes the driver fetch through a cursor
+        this.cursorTemplate.setFetchSize(Math.max(1, fetchSize));
+        // Plain JDBC transactions, not the JPA manager: with open-in-view the JPA transaction would run on
+        // the request's EntityManager, whose connection is not released when a client aborts the stream
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionManager.setEnforceReadOnly(true);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.timeoutMs = Math.max(1, timeoutMs);
+    }
+
+    /**
+     * How long one export response may stream before the request times out
+     */
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    /**
+     * Write rows of the table with id > afterId, in id order, to the stream
+     *
+     * @param limit maximum rows, 0 for all
+     * @return rows written
+     */
+    public long export(ExportTable table, ExportFormat format, long afterId, long limit, OutputStream out) {
+        String sql = "SELECT " + String.join(", ", table.columns()) + " FROM " + table.tableName()
+                + " WHERE id > ? ORDER BY id" + (limit > 0 ? " LIMIT " + limit : "");
+        Counter rowCounter = Counter.builder("database.export.rows")
+                .description("Rows streamed by /api/db/export")
+                .tag("table", table.label())
+                .tag("format", format.label())
+                .register(meterRegistry);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        AtomicLong rows = new AtomicLong();
+        String outcome = "success";
+        try {
+            BufferedOutputStream buffered = new BufferedOutputStream(out, OUTPUT_BUFFER_BYTES);
+            RowWriter writer = format == ExportFormat.CSV
+                    ? new CsvRowWriter(buffered, table.columns())
+                    : new NdjsonRowWriter(buffered, objectMapper);
+            readOnlyTransaction.executeWithoutResult(status -> cursorTemplate.query(sql, rs -> {
+                try {
+                    writer.write(rs);
+                } catch (IOException e) {
+                    // Typically the client went away; unwinding closes the cursor and ends the transaction
+                    throw new UncheckedIOException(e);
+                }
+                rows.incrementAndGet();
+            }, afterId));
+            writer.finish();
+            return rows.get();
+        } catch (IOException | RuntimeException e) {
+            outcome = "error";
+            if (e instanceof IOException) {
+                throw new UncheckedIOException((IOException) e);
+            }
+            throw (RuntimeException) e;
+        } finally {
+            rowCounter.increment(rows.get());
+            sample.stop(Timer.builder("database.export.duration")
+                    .description("Time to stream one /api/db/export response")
+                    .tag("table", table.label())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+        private ResultSetMetaData metaData;
+
+        NdjsonRowWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            // Root values are separated by the newline written after each row instead of a space
+            this.generator.setRootValueSeparator(null);
+            // The servlet container owns the response stream
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            if (metaData == null) {
+                metaData = rs.getMetaData();
+            }
+            generator.writeStartObject();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                generator.writeFieldName(metaData.getColumnLabel(i));
+                writeValue(rs.getObject(i));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        private void writeValue(Object value) throws IOException {
+            if (value == null) {
+                generator.writeNull();
+            } else if (value instanceof Long || value instanceof Integer) {
+                generator.writeNumber(((Number) value).longValue());
+            } else if (value instanceof BigDecimal) {
+                generator.writeNumber((BigDecimal) value);
+            } else if (value instanceof Timestamp) {
+                generator.writeString(((Timestamp) value).toLocalDateTime().toString());
+            } else {
+                generator.writeString(value.toString());
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final OutputStream out;
+        private final int columnCount;
+        private final StringBuilder line = new StringBuilder(512);
+
+        CsvRowWriter(OutputStream out, List<String> columns) throws IOException {
+            this.out = out;
+            this.columnCount = columns.size();
+            out.write((String.join(",", columns) + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            line.setLength(0);
+            for (int i = 1; i <= columnCount; i++) {
+                if (i > 1) {
+                    line.append(',');
+                }
+                Object value = rs.getObject(i);
+                if (value instanceof Timestamp) {
+                    line.append(((Timestamp) value).toLocalDateTime());
+                } else if (value != null) {
+                    appendField(value.toString());
+                }
+            }
+            line.append('\n');
+            out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        // RFC 4180: quote fields holding a separator, quote or line break, doubling inner quotes
+        private void appendField(String value) {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                line.append(value);
+                return;
+            }
+            line.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    line.append('"');
+                }
+                line.append(c);
+            }
+            line.append('"');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.demo.resource.service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Tables /api/db/export can stream, with the columns written for each (id first, for resuming)
+ */
+public enum ExportTable {
+    DATA_RECORD("data_record", "id", "category", "timestamp", "amount", "payload"),
+    AUDIT_LOG("audit_log", "id", "record_id", "related_id", "created_at", "description");
+
+    private final String tableName;
+    private final List<String> columns;
+
+    ExportTable(String tableName, String... columns) {
+        this.tableName = tableName;
+        this.columns = Collections.unmodifiableList(Arrays.asList(columns));
+    }
+
+    public String tableName() {
+        return tableName;
+    }
+
+    public List<String> columns() {
+        return columns;
+    }
+
+    public String label() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    /**
+     * Resolve a table name (data-record or data_record), falling back to the given default when no value is supplied
+     */
+    public static ExportTable from(String value, ExportTable fallback) {
+        if (value == null || value.trim().isEmpty()) {
+            return fallback;
+        }
+        try {
+            return ExportTable.valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown export table: " + value
+                    + " (expected data-record or audit-log)");
+        }
+    }
+}
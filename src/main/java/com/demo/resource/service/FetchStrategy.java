@@ -0,0 +1,38 @@
+package com.demo.resource.service;
+
+import java.util.Locale;
+
+/**
+ * How the slow database path loads the related entities of its 100 records.
+ * LAZY is the original per-record collection initialisation (N+1 selects), ENTITY_GRAPH
+ * fetch-joins the collections in one query, BATCH loads them with IN lists of
+ * db.fetch.batch-size ids, and COUNT only asks the database for per-record counts.
+ */
+public enum FetchStrategy {
+    LAZY,
+    ENTITY_GRAPH,
+    BATCH,
+    COUNT;
+
+    /**
+     * Name as accepted and reported by the API, e.g. entity-graph
+     */
+    public String label() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    /**
+     * Resolve a strategy name, falling back to the given default when no value is supplied
+     */
+    public static FetchStrategy from(String value, FetchStrategy fallback) {
+        if (value == null || value.trim().isEmpty()) {
+            return fallback;
+        }
+        try {
+            return FetchStrategy.valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown fetch strategy: " + value
+                    + " (expected lazy, entity-graph, batch or count)");
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.demo.resource.service;
+
+import java.util.Locale;
+
+/**
+ * How /api/db/ingest writes rows: COPY through the pgjdbc CopyManager, BATCH as JDBC batch
+ * inserts (rewritten into multi-row INSERTs by reWriteBatchedInserts), or AUTO for COPY when
+ * the connection is PostgreSQL and BATCH otherwise.
+ */
+public enum IngestMode {
+    AUTO,
+    COPY,
+    BATCH;
+
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Resolve a mode name, falling back to the given default when no value is supplied
+     */
+    public static IngestMode from(String value, IngestMode fallback) {
+        if (value == null || value.trim().isEmpty()) {
+            return fallback;
+        }
+        try {
+            return IngestMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown ingest mode: " + value
+                    + " (expected auto, copy or batch)");
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package com.demo.resource.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk write path for /api/db/ingest.
+ *
+ * The request body is parsed a chunk of rows at a time and each chunk is written with one
+ * COPY (pgjdbc CopyManager) or one JDBC batch, all in a single transaction, so memory is
+ * bounded by the chunk size and a bad row rolls the whole ingest back. Ids are taken from
+ * the table's sequence in one round trip per chunk and written explicitly; this is plain
+ * JDBC, so the IDENTITY generator that stops Hibernate from batching inserts is not involved.
+ */
+@Service
+@Profile("!locks")
+public class IngestService {
+
+    private final DataSource dataSource;
+    private final TransactionTemplate transaction;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final int chunkRows;
+
+    public IngestService(DataSource dataSource,
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${db.ingest.chunk-rows:5000}") int chunkRows) {
+        this.dataSource = dataSource;
+        // Plain JDBC transaction on a connection of its own, as for exports
+        this.transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.chunkRows = Math.max(1, chunkRows);
+    }
+
+    /**
+     * Load every row of the body into the table. Columns are matched by name (CSV header or
+     * NDJSON field); id is ignored and a missing timestamp/created_at defaults to now.
+     */
+    public Map<String, Object> ingest(ExportTable table, ExportFormat format, IngestMode mode, InputStream body) {
+        List<String> columns = new ArrayList<>(table.columns());
+        columns.remove("id");
+        long startNanos = System.nanoTime();
+
+        IngestResult result = transaction.execute(status -> {
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            try {
+                CopyManager copyManager = copyManager(connection, mode);
+                IngestMode resolved = copyManager != null ? IngestMode.COPY : IngestMode.BATCH;
+                RowSource source = format == ExportFormat.CSV
+                        ? new CsvRowSource(body, columns)
+                        : new NdjsonRowSource(body, columns, objectMapper);
+                IngestResult run = new IngestResult(resolved);
+                List<Object[]> chunk = new ArrayList<>(chunkRows);
+                Object[] row;
+                while ((row = source.next()) != null) {
+                    chunk.add(row);
+                    if (chunk.size() == chunkRows) {
+                        writeChunk(connection, copyManager, table, columns, chunk, run);
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    writeChunk(connection, copyManager, table, columns, chunk, run);
+                }
+                return run;
+            } catch (SQLException e) {
+                throw new IllegalStateException("Ingest into " + table.tableName() + " failed: " + e.getMessage(), e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        Counter.builder("database.ingest.rows")
+                .description("Rows written by /api/db/ingest")
+                .tag("table", table.label())
+                .tag("mode", result.mode.label())
+                .register(meterRegistry)
+                .increment(result.rows);
+        Timer.builder("database.ingest.duration")
+                .description("Time to parse and write one /api/db/ingest request")
+                .tag("table", table.label())
+                .tag("mode", result.mode.label())
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        Map<String, Object> response = new HashMap<>();
+        response.put("operation", "database-ingest");
+        response.put("table", table.label());
+        response.put("format", format.label());
+        response.put("mode", result.mode.label());
+        response.put("rows", result.rows);
+        response.put("chunks", result.chunks);
+        response.put("chunkRows", chunkRows);
+        response.put("firstId", result.rows > 0 ? result.firstId : null);
+        response.put("lastId", result.rows > 0 ? result.lastId : null);
+        response.put("durationMs", elapsedNanos / 1_000_000.0);
+        response.put("rowsPerSecond", seconds > 0 ? Math.round(result.rows / seconds) : 0);
+        return response;
+    }
+
+    private static CopyManager copyManager(Connection connection, IngestMode mode) throws SQLException {
+        if (mode == IngestMode.BATCH) {
+            return null;
+        }
+        if (connection.isWrapperFor(PGConnection.class)) {
+            return connection.unwrap(PGConnection.class).getCopyAPI();
+        }
+        if (mode == IngestMode.COPY) {
+            throw new IllegalArgumentException("COPY needs a PostgreSQL connection; use mode=batch");
+        }
+        return null;
+    }
+
+    private static void writeChunk(Connection connection, CopyManager copyManager, ExportTable table,
+                                   List<String> columns, List<Object[]> chunk, IngestResult run)
+            throws SQLException, IOException {
+        long[] ids = allocateIds(connection, table, chunk.size());
+        if (copyManager != null) {
+            copyChunk(copyManager, table, columns, chunk, ids);
+        } else {
+            batchChunk(connection, table, columns, chunk, ids);
+        }
+        if (run.rows == 0) {
+            run.firstId = ids[0];
+        }
+        run.lastId = ids[ids.length - 1];
+        run.rows += chunk.size();
+        run.chunks++;
+        chunk.clear();
+    }
+
+    private static long[] allocateIds(Connection connection, ExportTable table, int count) throws SQLException {
+        long[] ids = new long[count];
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT nextval(pg_get_serial_sequence(?, 'id')) FROM generate_series(1, ?)")) {
+            statement.setString(1, table.tableName());
+            statement.setInt(2, count);
+            try (ResultSet rs = statement.executeQuery()) {
+                for (int i = 0; rs.next(); i++) {
+                    ids[i] = rs.getLong(1);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static void copyChunk(CopyManager copyManager, ExportTable table, List<String> columns,
+                                  List<Object[]> chunk, long[] ids) throws SQLException, IOException {
+        StringBuilder csv = new StringBuilder(chunk.size() * 128);
+        for (int r = 0; r < chunk.size(); r++) {
+            csv.append(ids[r]);
+            for (Object value : chunk.get(r)) {
+                csv.append(',');
+                appendCopyValue(csv, value);
+            }
+            csv.append('\n');
+        }
+        copyManager.copyIn("COPY " + table.tableName() + " (id, " + String.join(", ", columns)
+                + ") FROM STDIN (FORMAT csv)", new StringReader(csv.toString()));
+    }
+
+    // COPY csv reads an unquoted empty field as NULL, so strings are always quoted
+    private static void appendCopyValue(StringBuilder csv, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (!(value instanceof String)) {
+            csv.append(value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString());
+            return;
+        }
+        String text = (String) value;
+        csv.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                csv.append('"');
+            }
+            csv.append(c);
+        }
+        csv.append('"');
+    }
+
+    private static void batchChunk(Connection connection, ExportTable table, List<String> columns,
+                                   List<Object[]> chunk, long[] ids) throws SQLException {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table.tableName())
+                .append(" (id, ").append(String.join(", ", columns)).append(") VALUES (?");
+        for (int i = 0; i < columns.size(); i++) {
+            sql.append(", ?");
+        }
+        sql.append(')');
+        try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            for (int r = 0; r < chunk.size(); r++) {
+                statement.setLong(1, ids[r]);
+                Object[] row = chunk.get(r);
+                for (int c = 0; c < row.length; c++) {
+                    Object value = row[c];
+                    statement.setObject(c + 2, value instanceof LocalDateTime
+                            ? Timestamp.valueOf((LocalDateTime) value) : value);
+                }
+                statement.addBatch();
+            }
+            // With reWriteBatchedInserts the driver sends this as a few multi-row INSERTs
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * Typed value of one input field
+     */
+    private static Object convert(String column, String text, long rowNumber) {
+        boolean timestampColumn = "timestamp".equals(column) || "created_at".equals(column);
+        if (text == null || (text.isEmpty() && !isTextColumn(column))) {
+            return timestampColumn ? LocalDateTime.now() : null;
+        }
+        try {
+            if (timestampColumn) {
+                return LocalDateTime.parse(text.trim().replace(' ', 'T'));
+            }
+            if ("amount".equals(column)) {
+                return new BigDecimal(text.trim());
+            }
+            if ("record_id".equals(column) || "related_id".equals(column)) {
+                return Long.valueOf(text.trim());
+            }
+            return text;
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + column + " '" + text + "' in row " + rowNumber);
+        }
+    }
+
+    private static boolean isTextColumn(String column) {
+        return "category".equals(column) || "payload".equals(column) || "description".equals(column);
+    }
+
+    private interface RowSource {
+        /**
+         * Next row as values in column order, or null at end of input
+         */
+        Object[] next() throws IOException;
+    }
+
+    private static final class CsvRowSource implements RowSource {
+        private final CsvRecordReader reader;
+        private final List<String> columns;
+        private int[] positions;
+        private long rowNumber;
+
+        CsvRowSource(InputStream body, List<String> columns) {
+            this.reader = new CsvRecordReader(new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)));
+            this.columns = columns;
+        }
+
+        @Override
+        public Object[] next() throws IOException {
+            if (positions == null) {
+                List<String> header = reader.next();
+                if (header == null) {
+                    return null;
+                }
+                positions = new int[columns.size()];
+                for (int i = 0; i < positions.length; i++) {
+                    positions[i] = header.indexOf(columns.get(i));
+                }
+            }
+            List<String> fields = reader.next();
+            if (fields == null) {
+                return null;
+            }
+            rowNumber++;
+            Object[] row = new Object[columns.size()];
+            for (int i = 0; i < row.length; i++) {
+                int position = positions[i];
+                String text = position >= 0 && position < fields.size() ? fields.get(position) : null;
+                row[i] = convert(columns.get(i), text, rowNumber);
+            }
+            return row;
+        }
+    }
+
+    private static final class NdjsonRowSource implements RowSource {
+        private final BufferedReader reader;
+        private final List<String> columns;
+        private final ObjectMapper objectMapper;
+        private long rowNumber;
+
+        NdjsonRowSource(InputStream body, List<String> columns, ObjectMapper objectMapper) {
+            this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+            this.columns = columns;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public Object[] next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.trim().isEmpty());
+            rowNumber++;
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Invalid JSON in row " + rowNumber + ": " + e.getOriginalMessage());
+            }
+            if (!node.isObject()) {
+                throw new IllegalArgumentException("Row " + rowNumber + " is not a JSON object");
+            }
+            Object[] row = new Object[columns.size()];
+            for (int i = 0; i < row.length; i++) {
+                JsonNode value = node.get(columns.get(i));
+                row[i] = convert(columns.get(i), value == null || value.isNull() ? null : value.asText(), rowNumber);
+            }
+            return row;
+        }
+    }
+
+    private static final class IngestResult {
+        final IngestMode mode;
+        long rows;
+        int chunks;
+        long firstId;
+        long lastId;
+
+        IngestResult(IngestMode mode) {
+            this.mode = mode;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.demo.resource.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque page cursor: the sort key and id of the last row returned, URL-safe base64 encoded.
+ * The next page starts strictly after that key, so no rows are skipped or re-read.
+ * A null key means the last row was in the NULL-key tail segment, which is paged by id alone.
+ */
+final class KeysetCursor {
+
+    private static final char SEPARATOR = '\n';
+    // Key prefixes, so a NULL key and an empty one encode differently
+    private static final char VALUE = '=';
+    private static final char NULL_KEY = '-';
+
+    final RecordSort sort;
+    final String key;
+    final long id;
+
+    KeysetCursor(RecordSort sort, String key, long id) {
+        this.sort = sort;
+        this.key = key;
+        this.id = id;
+    }
+
+    String encode() {
+        String raw = sort.label() + SEPARATOR + (key != null ? VALUE + key : String.valueOf(NULL_KEY)) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    LocalDateTime timestampKey() {
+        return LocalDateTime.parse(key);
+    }
+
+    /**
+     * @throws IllegalArgumentException when the cursor is malformed or was issued for another sort
+     */
+    static KeysetCursor decode(String cursor, RecordSort expectedSort) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        int first = raw.indexOf(SEPARATOR);
+        int last = raw.lastIndexOf(SEPARATOR);
+        if (first < 0 || first == last) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        RecordSort sort = RecordSort.from(raw.substring(0, first), null);
+        if (sort != expectedSort) {
+            throw new IllegalArgumentException("Cursor was issued for sort=" + raw.substring(0, first)
+                    + ", not sort=" + expectedSort.label());
+        }
+        String encodedKey = raw.substring(first + 1, last);
+        if (encodedKey.isEmpty() || (encodedKey.charAt(0) != VALUE && !encodedKey.equals(String.valueOf(NULL_KEY)))) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        String key = encodedKey.charAt(0) == VALUE ? encodedKey.substring(1) : null;
+        KeysetCursor decoded;
+        try {
+            decoded = new KeysetCursor(sort, key, Long.parseLong(raw.substring(last + 1)));
+            if (sort == RecordSort.TIMESTAMP && key != null) {
+                decoded.timestampKey();
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        return decoded;
+    }
+}
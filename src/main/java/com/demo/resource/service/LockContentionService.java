@@ -1,43 +1,124 @@
 package com.demo.resource.service;
 
+import com.demo.resource.concurrent.LockFreeRingBuffer;
+import com.demo.resource.concurrent.MpscBoundedQueue;
+import com.demo.resource.concurrent.SingleWriterRing;
+import com.demo.resource.concurrent.TimingWheel;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Service demonstrating real lock contention scenarios.
  * Uses synchronized blocks on shared data structures to cause real thread waiting.
+ * The LOCKFREE strategy runs the same workload on lock-free structures for comparison,
+ * REENTRANT on explicit locks with a bounded acquisition wait, and SINGLE_WRITER through
+ * a ring drained by one writer thread so API threads never hand off a lock.
  */
 @Service
 public class LockContentionService {
 
     private static final Logger logger = LoggerFactory.getLogger(LockContentionService.class);
 
+    // LOCKFREE keys awaiting the ticker; a full queue falls back to scheduling under the wheel's monitor
+    private static final int PENDING_EXPIRY_CAPACITY = 1 << 16;
+
     // Shared data structures that will be contended
     private final Map<String, Object> sharedMap = new HashMap<>();
     private final List<String> sharedList = new ArrayList<>();
     
+    // Entry expiry for every strategy's map: one timing wheel each, behind its own lock, so a tick
+    // never walks buckets while holding a map's lock
+    private final long mapTtlNanos;
+    private final long mapTickMs;
+    private final MapExpiry sharedMapExpiry;
+    private final MapExpiry concurrentMapExpiry;
+    private final MapExpiry guardedMapExpiry;
+    private final MapExpiry writerMapExpiry;
+    private final AtomicLong mapExpirations = new AtomicLong(0);
+    private ScheduledExecutorService mapExpiryTicker;
+    // LOCKFREE writers hand their keys to the ticker here rather than taking concurrentMapExpiry's monitor
+    private final MpscBoundedQueue<PendingExpiry> concurrentMapPending;
+    
+    // Lock-free counterparts; the ring keeps the newest entries so no trim is needed
+    private final Map<String, Object> concurrentMap = new ConcurrentHashMap<>();
+    private final LockFreeRingBuffer<String> ringBuffer = new LockFreeRingBuffer<>(1000);
+    
+    // Explicit-lock counterparts, acquired with a bounded wait
+    private final Map<String, Object> guardedMap = new HashMap<>();
+    private final List<String> guardedList = new ArrayList<>();
+    private final ReentrantLock mapLock;
+    private final ReentrantLock listLock;
+    private final long tryLockTimeoutMs;
+    private final AtomicLong timedOutOperations = new AtomicLong(0);
+    
+    // Single-writer counterparts; only the ring's writer thread touches writerMap and writerList
+    private final Map<String, Object> writerMap = new HashMap<>();
+    private final List<String> writerList = new ArrayList<>();
+    private final SingleWriterRing<WriteEvent> writeRing;
+    private DistributionSummary batchSizeSummary;
+    
     // Metrics tracking
     private final AtomicInteger activeThreads = new AtomicInteger(0);
     private final AtomicLong totalOperations = new AtomicLong(0);
-    private final AtomicLong totalWaitTimeMs = new AtomicLong(0);
+    private final AtomicLong totalWaitTimeNanos = new AtomicLong(0);
     
     private Counter operationCounter;
     private Timer contentionTimer;
     
+    // Per-lock histograms: wait = queueing before acquisition, hold = critical-section length
+    private Timer mapWaitTimer;
+    private Timer listWaitTimer;
+    private Timer mapHoldTimer;
+    private Timer listHoldTimer;
+    private Timer reentrantMapWaitTimer;
+    private Timer reentrantListWaitTimer;
+    private Timer reentrantMapHoldTimer;
+    private Timer reentrantListHoldTimer;
+    private Counter mapTimeoutCounter;
+    private Counter listTimeoutCounter;
+    
     private final MeterRegistry meterRegistry;
 
-    public LockContentionService(MeterRegistry meterRegistry) {
+    public LockContentionService(MeterRegistry meterRegistry,
+                                 @Value("${contention.reentrant.fair:false}") boolean fair,
+                                 @Value("${contention.reentrant.try-lock-timeout-ms:1000}") long tryLockTimeoutMs,
+                                 @Value("${contention.single-writer.ring-size:1024}") int ringSize,
+                                 @Value("${contention.map.ttl-seconds:300}") long mapTtlSeconds,
+                                 @Value("${contention.map.tick-ms:100}") long mapTickMs) {
         this.meterRegistry = meterRegistry;
+        this.mapTtlNanos = TimeUnit.SECONDS.toNanos(Math.max(0, mapTtlSeconds));
+        this.mapTickMs = Math.max(1, mapTickMs);
+        this.sharedMapExpiry = new MapExpiry(mapTtlNanos, TimeUnit.MILLISECONDS.toNanos(this.mapTickMs));
+        this.concurrentMapExpiry = new MapExpiry(mapTtlNanos, TimeUnit.MILLISECONDS.toNanos(this.mapTickMs));
+        this.guardedMapExpiry = new MapExpiry(mapTtlNanos, TimeUnit.MILLISECONDS.toNanos(this.mapTickMs));
+        this.writerMapExpiry = new MapExpiry(mapTtlNanos, TimeUnit.MILLISECONDS.toNanos(this.mapTickMs));
+        this.concurrentMapPending = mapTtlNanos > 0 ? new MpscBoundedQueue<>(PENDING_EXPIRY_CAPACITY) : null;
+        this.mapLock = new ReentrantLock(fair);
+        this.listLock = new ReentrantLock(fair);
+        this.tryLockTimeoutMs = Math.max(0, tryLockTimeoutMs);
+        this.writeRing = new SingleWriterRing<>("contention-writer", ringSize, WriteEvent::new,
+                this::applyWrite, batch -> batchSizeSummary.record(batch));
     }
 
     @PostConstruct
@@ -48,6 +129,129 @@ public class LockContentionService {
         
         contentionTimer = Timer.builder("contention.wait.time")
                 .description("Time spent waiting for locks")
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        
+        mapWaitTimer = lockTimer("contention.lock.wait", "map", "monitor", "Time spent waiting to acquire the lock");
+        listWaitTimer = lockTimer("contention.lock.wait", "list", "monitor", "Time spent waiting to acquire the lock");
+        mapHoldTimer = lockTimer("contention.lock.hold", "map", "monitor", "Time the lock was held");
+        listHoldTimer = lockTimer("contention.lock.hold", "list", "monitor", "Time the lock was held");
+        reentrantMapWaitTimer = lockTimer("contention.lock.wait", "map", "reentrant", "Time spent waiting to acquire the lock");
+        reentrantListWaitTimer = lockTimer("contention.lock.wait", "list", "reentrant", "Time spent waiting to acquire the lock");
+        reentrantMapHoldTimer = lockTimer("contention.lock.hold", "map", "reentrant", "Time the lock was held");
+        reentrantListHoldTimer = lockTimer("contention.lock.hold", "list", "reentrant", "Time the lock was held");
+        
+        mapTimeoutCounter = timeoutCounter("map");
+        listTimeoutCounter = timeoutCounter("list");
+        
+        batchSizeSummary = DistributionSummary.builder("contention.writer.batch.size")
+                .description("Operations applied per single-writer batch")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("contention.writer.ring.occupancy", writeRing, SingleWriterRing::occupancy)
+                .description("Operations published to the single-writer ring but not yet applied")
+                .register(meterRegistry);
+        writeRing.start();
+        
+        Gauge.builder("contention.map.live.size", sharedMap, Map::size)
+                .description("Entries currently held in the monitor-guarded shared map")
+                .register(meterRegistry);
+        FunctionCounter.builder("contention.map.expirations", mapExpirations, AtomicLong::get)
+                .description("Map entries removed because their TTL elapsed, all strategies")
+                .register(meterRegistry);
+        if (mapTtlNanos > 0) {
+            mapExpiryTicker = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "contention-map-expiry");
+                thread.setDaemon(true);
+                return thread;
+            });
+            mapExpiryTicker.scheduleWithFixedDelay(this::expireMaps, mapTickMs, mapTickMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (mapExpiryTicker != null) {
+            mapExpiryTicker.shutdownNow();
+        }
+        writeRing.stop();
+    }
+
+    /**
+     * Remove entries whose TTL elapsed from every strategy's map. The wheels are advanced without
+     * any map lock held; each lock is then taken once, only to remove that tick's batch of keys.
+     * The monitor map goes last, since its lock may be held through a request's sleep.
+     */
+    private void expireMaps() {
+        try {
+            long now = System.nanoTime();
+            drainPendingExpiries();
+            removeExpired(concurrentMap, concurrentMapExpiry.advance(now));
+            if (writerMapExpiry.pending() > 0) {
+                // The writer thread owns writerMap, so it expires the keys itself
+                writeRing.publish(event -> event.set(WriteEvent.EXPIRE, null, now));
+            }
+            List<String> guardedDue = guardedMapExpiry.advance(now);
+            if (!guardedDue.isEmpty()) {
+                mapLock.lock();
+                try {
+                    removeExpired(guardedMap, guardedDue);
+                } finally {
+                    mapLock.unlock();
+                }
+            }
+            List<String> sharedDue = sharedMapExpiry.advance(now);
+            if (!sharedDue.isEmpty()) {
+                synchronized (sharedMap) {
+                    removeExpired(sharedMap, sharedDue);
+                }
+            }
+        } catch (RuntimeException e) {
+            // An exception would cancel the periodic task
+            logger.warn("Map expiry tick failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Move the LOCKFREE writers' queued keys into their wheel; ticker thread only
+     */
+    private void drainPendingExpiries() {
+        List<PendingExpiry> drained = new ArrayList<>();
+        while (concurrentMapPending.drainTo(drained, 1024) > 0) {
+            for (PendingExpiry pending : drained) {
+                concurrentMapExpiry.schedule(pending.key, pending.scheduledAtNanos);
+            }
+            drained.clear();
+        }
+    }
+
+    private void removeExpired(Map<String, Object> map, List<String> keys) {
+        int removed = 0;
+        for (String key : keys) {
+            if (map.remove(key) != null) {
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            mapExpirations.addAndGet(removed);
+        }
+    }
+
+    private Counter timeoutCounter(String lock) {
+        return Counter.builder("contention.lock.timeouts")
+                .description("Operations shed because tryLock timed out")
+                .tag("lock", lock)
+                .register(meterRegistry);
+    }
+
+    private Timer lockTimer(String name, String lock, String strategy, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("lock", lock)
+                .tag("strategy", strategy)
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .publishPercentileHistogram()
                 .register(meterRegistry);
     }
 
@@ -60,6 +264,19 @@ public class LockContentionService {
      * @return Results map with timing and contention metrics
      */
     public Map<String, Object> performContentionOperation(int holdTimeMs, int operationCount) {
+        return performContentionOperation(holdTimeMs, operationCount, ContentionStrategy.MONITOR);
+    }
+
+    /**
+     * Perform lock contention operation with the given synchronization strategy
+     * 
+     * @param holdTimeMs Time to hold lock (or, lock-free, to work per operation) in milliseconds (10-500)
+     * @param operationCount Number of operations for this thread (10-1000)
+     * @param strategy How the shared structures are guarded
+     * @return Results map with timing and contention metrics
+     */
+    public Map<String, Object> performContentionOperation(int holdTimeMs, int operationCount,
+                                                          ContentionStrategy strategy) {
         long startTime = System.currentTimeMillis();
         
         // Validate and cap parameters
@@ -69,70 +286,51 @@ public class LockContentionService {
         // Generate unique thread ID based on current thread
         final String threadId = "api_" + Thread.currentThread().getId() + "_" + System.currentTimeMillis();
         
-        logger.debug("Starting single-thread contention: holdTime={}ms, operations={}, threadId={}", 
-                     finalHoldTimeMs, finalOperationCount, threadId);
+        logger.debug("Starting single-thread contention: strategy={}, holdTime={}ms, operations={}, threadId={}", 
+                     strategy, finalHoldTimeMs, finalOperationCount, threadId);
         
-        long threadWaitTime = 0;
+        StrategyRun run;
         activeThreads.incrementAndGet();
-        
         try {
-            for (int op = 0; op < finalOperationCount; op++) {
-                long opStart = System.nanoTime();
-                
-                // Synchronized block - THIS IS WHERE REAL LOCK CONTENTION HAPPENS
-                // Multiple concurrent API calls will wait here
-                synchronized (sharedMap) {
-                    long lockAcquiredTime = System.nanoTime();
-                    long waitTime = (lockAcquiredTime - opStart) / 1_000_000; // Convert to ms
-                    threadWaitTime += waitTime;
-                    
-                    // Perform operations while holding the lock
-                    String key = threadId + "_op_" + op;
-                    sharedMap.put(key, System.currentTimeMillis());
-                    
-                    // Also contend on the shared list
-                    synchronized (sharedList) {
-                        sharedList.add(key);
-                        
-                        // Hold the lock for specified time to increase contention
-                        if (finalHoldTimeMs > 0) {
-                            try {
-                                Thread.sleep(finalHoldTimeMs);
-                            } catch (InterruptedException e) {
-                                Thread.currentThread().interrupt();
-                                logger.warn("Thread interrupted during lock hold: {}", threadId);
-                                break;
-                            }
-                        }
-                        
-                        // Perform some work while holding lock
-                        if (sharedList.size() > 1000) {
-                            sharedList.subList(0, 500).clear();
-                        }
-                    }
-                    
-                    operationCounter.increment();
-                    totalOperations.incrementAndGet();
-                }
-            }
+            run = runStrategy(strategy, threadId, finalHoldTimeMs, finalOperationCount);
         } finally {
             activeThreads.decrementAndGet();
         }
+        long threadWaitNanos = run.waitNanos;
+        int operationsCompleted = run.completed;
+        boolean timedOut = run.timedOut;
         
         long duration = System.currentTimeMillis() - startTime;
-        totalWaitTimeMs.addAndGet(threadWaitTime);
+        totalWaitTimeNanos.addAndGet(threadWaitNanos);
+        double threadWaitTime = threadWaitNanos / 1_000_000.0;
         
         Map<String, Object> response = new HashMap<>();
         response.put("operation", "lock-contention");
+        response.put("strategy", strategy.label());
         response.put("threadId", threadId);
         response.put("holdTimeMsPerOperation", finalHoldTimeMs);
-        response.put("operationsCompleted", finalOperationCount);
+        response.put("operationsCompleted", operationsCompleted);
         response.put("durationMs", duration);
         response.put("waitTimeMs", threadWaitTime);
+        response.put("waitTimeNanos", threadWaitNanos);
         response.put("activeThreadsNow", activeThreads.get());
-        response.put("contentionRatio", duration > 0 ? (double) threadWaitTime / duration : 0.0);
-        response.put("sharedMapSize", sharedMap.size());
-        response.put("sharedListSize", sharedList.size());
+        response.put("contentionRatio", duration > 0 ? threadWaitTime / duration : 0.0);
+        if (strategy == ContentionStrategy.LOCKFREE) {
+            response.put("sharedMapSize", concurrentMap.size());
+            response.put("sharedListSize", ringBuffer.size());
+        } else if (strategy == ContentionStrategy.REENTRANT) {
+            response.put("timedOut", timedOut);
+            response.put("operationsShed", finalOperationCount - operationsCompleted);
+            response.put("tryLockTimeoutMs", tryLockTimeoutMs);
+            response.put("sharedMapSize", guardedMapSize());
+            response.put("sharedListSize", guardedListSize());
+        } else if (strategy == ContentionStrategy.SINGLE_WRITER) {
+            response.put("sharedMapSize", writerMap.size());
+            response.put("sharedListSize", writerList.size());
+        } else {
+            response.put("sharedMapSize", sharedMap.size());
+            response.put("sharedListSize", sharedList.size());
+        }
         response.put("timestamp", System.currentTimeMillis());
         
         logger.debug("Contention operation completed: duration={}ms, wait={}ms, ratio={}, active={}", 
@@ -141,6 +339,294 @@ public class LockContentionService {
         return response;
     }
 
+    /**
+     * Run the strategy's operations for one caller, without the request's parameter clamping.
+     * LockContentionBenchmark drives this directly, with holdTimeMs 0 and one operation per call.
+     */
+    StrategyRun runStrategy(ContentionStrategy strategy, String threadId, int holdTimeMs, int operationCount) {
+        if (strategy == ContentionStrategy.REENTRANT) {
+            return runReentrant(threadId, holdTimeMs, operationCount);
+        } else if (strategy == ContentionStrategy.LOCKFREE) {
+            return runLockFree(threadId, holdTimeMs, operationCount);
+        } else if (strategy == ContentionStrategy.SINGLE_WRITER) {
+            return runSingleWriter(threadId, holdTimeMs, operationCount);
+        }
+        return runMonitor(threadId, holdTimeMs, operationCount);
+    }
+
+    /**
+     * Nested monitors on the shared map and list, sleeping while both are held.
+     * Wait and hold times of each monitor are recorded separately at nanosecond precision.
+     * An operation interrupted during its hold is not completed, and ends the run.
+     * 
+     * @return Time spent waiting for both monitors, in nanoseconds, and the operations completed
+     */
+    private StrategyRun runMonitor(String threadId, int holdTimeMs, int operationCount) {
+        StrategyRun run = new StrategyRun();
+        for (int op = 0; op < operationCount; op++) {
+            long opStart = System.nanoTime();
+            long mapAcquired;
+            long listRequested;
+            long listAcquired;
+            long listReleased;
+            String key;
+            boolean interrupted = false;
+            
+            // Synchronized block - THIS IS WHERE REAL LOCK CONTENTION HAPPENS
+            // Multiple concurrent API calls will wait here
+            synchronized (sharedMap) {
+                mapAcquired = System.nanoTime();
+                
+                // Perform operations while holding the lock
+                key = threadId + "_op_" + op;
+                sharedMap.put(key, System.currentTimeMillis());
+                
+                // Also contend on the shared list
+                listRequested = System.nanoTime();
+                synchronized (sharedList) {
+                    listAcquired = System.nanoTime();
+                    sharedList.add(key);
+                    
+                    // Hold the lock for specified time to increase contention
+                    if (holdTimeMs > 0) {
+                        try {
+                            Thread.sleep(holdTimeMs);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            interrupted = true;
+                        }
+                    }
+                    
+                    // Perform some work while holding lock
+                    if (!interrupted && sharedList.size() > 1000) {
+                        sharedList.subList(0, 500).clear();
+                    }
+                }
+                listReleased = System.nanoTime();
+                
+                if (!interrupted) {
+                    operationCounter.increment();
+                    totalOperations.incrementAndGet();
+                    run.completed++;
+                }
+            }
+            long mapReleased = System.nanoTime();
+            
+            // Schedule and record outside the critical sections so neither lengthens them
+            if (mapTtlNanos > 0) {
+                sharedMapExpiry.schedule(key, mapAcquired);
+            }
+            long mapWait = mapAcquired - opStart;
+            long listWait = listAcquired - listRequested;
+            mapWaitTimer.record(mapWait, TimeUnit.NANOSECONDS);
+            listWaitTimer.record(listWait, TimeUnit.NANOSECONDS);
+            mapHoldTimer.record(mapReleased - mapAcquired, TimeUnit.NANOSECONDS);
+            listHoldTimer.record(listReleased - listAcquired, TimeUnit.NANOSECONDS);
+            contentionTimer.record(mapWait + listWait, TimeUnit.NANOSECONDS);
+            run.waitNanos += mapWait + listWait;
+            
+            if (interrupted) {
+                logger.warn("Thread interrupted during lock hold: {}", threadId);
+                break;
+            }
+        }
+        return run;
+    }
+
+    /**
+     * Same nested workload on explicit locks. Each acquisition waits at most tryLockTimeoutMs;
+     * when it times out the operation and the rest of this request are shed, so callers queue
+     * for a bounded time instead of stacking behind every earlier holder.
+     */
+    private StrategyRun runReentrant(String threadId, int holdTimeMs, int operationCount) {
+        StrategyRun run = new StrategyRun();
+        for (int op = 0; op < operationCount && !run.timedOut; op++) {
+            long opStart = System.nanoTime();
+            long mapAcquired = 0;
+            long listRequested = 0;
+            long listAcquired = 0;
+            long listReleased = 0;
+            boolean interrupted = false;
+            
+            try {
+                if (!mapLock.tryLock(tryLockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    run.timedOut = true;
+                    mapTimeoutCounter.increment();
+                } else {
+                    try {
+                        mapAcquired = System.nanoTime();
+                        String key = threadId + "_op_" + op;
+                        guardedMap.put(key, System.currentTimeMillis());
+                        
+                        listRequested = System.nanoTime();
+                        if (!listLock.tryLock(tryLockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                            // Undo the half-applied operation before shedding it
+                            guardedMap.remove(key);
+                            run.timedOut = true;
+                            listTimeoutCounter.increment();
+                        } else {
+                            try {
+                                listAcquired = System.nanoTime();
+                                guardedList.add(key);
+                                if (holdTimeMs > 0) {
+                                    Thread.sleep(holdTimeMs);
+                                }
+                                if (guardedList.size() > 1000) {
+                                    guardedList.subList(0, 500).clear();
+                                }
+                            } finally {
+                                listLock.unlock();
+                                listReleased = System.nanoTime();
+                            }
+                            if (mapTtlNanos > 0) {
+                                guardedMapExpiry.schedule(key, mapAcquired);
+                            }
+                            operationCounter.increment();
+                            totalOperations.incrementAndGet();
+                            run.completed++;
+                        }
+                    } finally {
+                        mapLock.unlock();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                interrupted = true;
+            }
+            long now = System.nanoTime();
+            
+            // Timed-out acquisitions count their full wait; holds are recorded only once acquired
+            long mapWait = (mapAcquired != 0 ? mapAcquired : now) - opStart;
+            reentrantMapWaitTimer.record(mapWait, TimeUnit.NANOSECONDS);
+            long listWait = 0;
+            if (listRequested != 0) {
+                listWait = (listAcquired != 0 ? listAcquired : now) - listRequested;
+                reentrantListWaitTimer.record(listWait, TimeUnit.NANOSECONDS);
+            }
+            if (mapAcquired != 0) {
+                reentrantMapHoldTimer.record(now - mapAcquired, TimeUnit.NANOSECONDS);
+            }
+            if (listAcquired != 0 && listReleased != 0) {
+                reentrantListHoldTimer.record(listReleased - listAcquired, TimeUnit.NANOSECONDS);
+            }
+            contentionTimer.record(mapWait + listWait, TimeUnit.NANOSECONDS);
+            run.waitNanos += mapWait + listWait;
+            
+            if (interrupted) {
+                logger.warn("Thread interrupted during lock hold: {}", threadId);
+                break;
+            }
+        }
+        if (run.timedOut) {
+            timedOutOperations.addAndGet(operationCount - run.completed);
+            logger.debug("tryLock timed out after {}ms, shed {} operations: {}",
+                         tryLockTimeoutMs, operationCount - run.completed, threadId);
+        }
+        return run;
+    }
+
+    /**
+     * Publish each operation to the single-writer ring and wait for its completion sequence.
+     * Like LOCKFREE, the per-operation work (sleep) happens after the update, outside the writer.
+     * 
+     * @return Time from publishing to the writer applying each operation, in nanoseconds, and the
+     *         operations applied before any interrupt ended the run
+     */
+    private StrategyRun runSingleWriter(String threadId, int holdTimeMs, int operationCount) {
+        StrategyRun run = new StrategyRun();
+        for (int op = 0; op < operationCount; op++) {
+            long opStart = System.nanoTime();
+            
+            String key = threadId + "_op_" + op;
+            long timestamp = System.currentTimeMillis();
+            long sequence = writeRing.publish(event -> event.set(WriteEvent.PUT, key, timestamp));
+            writeRing.awaitApplied(sequence);
+            long applyTime = System.nanoTime() - opStart;
+            contentionTimer.record(applyTime, TimeUnit.NANOSECONDS);
+            run.waitNanos += applyTime;
+            
+            operationCounter.increment();
+            totalOperations.incrementAndGet();
+            run.completed++;
+            
+            if (holdTimeMs > 0) {
+                try {
+                    Thread.sleep(holdTimeMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    logger.warn("Thread interrupted during single-writer operation: {}", threadId);
+                    break;
+                }
+            }
+        }
+        return run;
+    }
+
+    /**
+     * Runs on the ring's writer thread only
+     */
+    private void applyWrite(WriteEvent event, long sequence, boolean endOfBatch) {
+        if (event.type == WriteEvent.CLEAR) {
+            writerMap.clear();
+            writerList.clear();
+            writerMapExpiry.clear();
+        } else if (event.type == WriteEvent.EXPIRE) {
+            removeExpired(writerMap, writerMapExpiry.advance(event.timestamp));
+        } else {
+            writerMap.put(event.key, event.timestamp);
+            if (mapTtlNanos > 0) {
+                writerMapExpiry.schedule(event.key, System.nanoTime());
+            }
+            writerList.add(event.key);
+            if (writerList.size() > 1000) {
+                writerList.subList(0, 500).clear();
+            }
+        }
+        // Drop the reference so the ring slot does not keep the key reachable
+        event.key = null;
+    }
+
+    /**
+     * Same workload on a ConcurrentHashMap and the lock-free ring.
+     * The per-operation work (sleep) happens outside any critical section, and the ring
+     * overwrites its oldest entry instead of shifting 500 elements.
+     * 
+     * @return Time spent in the shared-structure updates, in nanoseconds, and the operations
+     *         applied before any interrupt ended the run
+     */
+    private StrategyRun runLockFree(String threadId, int holdTimeMs, int operationCount) {
+        StrategyRun run = new StrategyRun();
+        for (int op = 0; op < operationCount; op++) {
+            long opStart = System.nanoTime();
+            
+            String key = threadId + "_op_" + op;
+            concurrentMap.put(key, System.currentTimeMillis());
+            ringBuffer.add(key);
+            if (mapTtlNanos > 0 && !concurrentMapPending.offer(new PendingExpiry(key, opStart))) {
+                // The ticker has fallen a queue behind; take the wheel's monitor rather than never expiring the key
+                concurrentMapExpiry.schedule(key, opStart);
+            }
+            long updateTime = System.nanoTime() - opStart;
+            contentionTimer.record(updateTime, TimeUnit.NANOSECONDS);
+            run.waitNanos += updateTime;
+            
+            operationCounter.increment();
+            totalOperations.incrementAndGet();
+            run.completed++;
+            
+            if (holdTimeMs > 0) {
+                try {
+                    Thread.sleep(holdTimeMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    logger.warn("Thread interrupted during lock-free operation: {}", threadId);
+                    break;
+                }
+            }
+        }
+        return run;
+    }
+
     /**
      * Get current contention metrics
      */
@@ -148,11 +634,57 @@ public class LockContentionService {
         Map<String, Object> metrics = new HashMap<>();
         metrics.put("activeThreads", activeThreads.get());
         metrics.put("totalOperations", totalOperations.get());
-        metrics.put("totalWaitTimeMs", totalWaitTimeMs.get());
+        long waitNanos = totalWaitTimeNanos.get();
+        long operations = totalOperations.get();
+        metrics.put("totalWaitTimeMs", waitNanos / 1_000_000.0);
         metrics.put("sharedMapSize", sharedMap.size());
         metrics.put("sharedListSize", sharedList.size());
+        metrics.put("sharedMapTtlSeconds", TimeUnit.NANOSECONDS.toSeconds(mapTtlNanos));
+        metrics.put("sharedMapExpirations", mapExpirations.get());
+        metrics.put("lockFreeMapSize", concurrentMap.size());
+        metrics.put("lockFreeRingSize", ringBuffer.size());
         metrics.put("avgWaitTimePerOperation", 
-                    totalOperations.get() > 0 ? totalWaitTimeMs.get() / totalOperations.get() : 0);
+                    operations > 0 ? waitNanos / 1_000_000.0 / operations : 0.0);
+        
+        Map<String, Object> waitPercentiles = new HashMap<>();
+        waitPercentiles.put("map", percentilesMs(mapWaitTimer));
+        waitPercentiles.put("list", percentilesMs(listWaitTimer));
+        Map<String, Object> holdPercentiles = new HashMap<>();
+        holdPercentiles.put("map", percentilesMs(mapHoldTimer));
+        holdPercentiles.put("list", percentilesMs(listHoldTimer));
+        metrics.put("lockWaitMs", waitPercentiles);
+        metrics.put("lockHoldMs", holdPercentiles);
+        
+        Map<String, Object> reentrant = new HashMap<>();
+        reentrant.put("fair", listLock.isFair());
+        reentrant.put("tryLockTimeoutMs", tryLockTimeoutMs);
+        reentrant.put("timedOutOperations", timedOutOperations.get());
+        reentrant.put("mapLockQueueLength", mapLock.getQueueLength());
+        reentrant.put("listLockQueueLength", listLock.getQueueLength());
+        reentrant.put("sharedMapSize", guardedMapSize());
+        reentrant.put("sharedListSize", guardedListSize());
+        Map<String, Object> reentrantWait = new HashMap<>();
+        reentrantWait.put("map", percentilesMs(reentrantMapWaitTimer));
+        reentrantWait.put("list", percentilesMs(reentrantListWaitTimer));
+        Map<String, Object> reentrantHold = new HashMap<>();
+        reentrantHold.put("map", percentilesMs(reentrantMapHoldTimer));
+        reentrantHold.put("list", percentilesMs(reentrantListHoldTimer));
+        reentrant.put("lockWaitMs", reentrantWait);
+        reentrant.put("lockHoldMs", reentrantHold);
+        metrics.put("reentrant", reentrant);
+        
+        Map<String, Object> singleWriter = new HashMap<>();
+        singleWriter.put("ringCapacity", writeRing.capacity());
+        singleWriter.put("ringOccupancy", writeRing.occupancy());
+        singleWriter.put("published", writeRing.publishedCount());
+        singleWriter.put("applied", writeRing.appliedCount());
+        singleWriter.put("batches", writeRing.batches());
+        singleWriter.put("avgBatchSize", writeRing.averageBatch());
+        singleWriter.put("maxBatchSize", writeRing.maxBatch());
+        singleWriter.put("handlerErrors", writeRing.handlerErrors());
+        singleWriter.put("sharedMapSize", writerMap.size());
+        singleWriter.put("sharedListSize", writerList.size());
+        metrics.put("singleWriter", singleWriter);
         
         return metrics;
     }
@@ -161,19 +693,38 @@ public class LockContentionService {
      * Clear all accumulated data and reset metrics
      */
     public Map<String, Object> clearData() {
-        int mapSize = sharedMap.size();
-        int listSize = sharedList.size();
+        int mapSize = getSharedMapSize();
+        int listSize = getSharedListSize();
         
         synchronized (sharedMap) {
             synchronized (sharedList) {
                 sharedMap.clear();
                 sharedList.clear();
+                sharedMapExpiry.clear();
             }
         }
+        concurrentMap.clear();
+        concurrentMapExpiry.clear();
+        ringBuffer.clear();
+        mapLock.lock();
+        try {
+            listLock.lock();
+            try {
+                guardedMap.clear();
+                guardedList.clear();
+                guardedMapExpiry.clear();
+            } finally {
+                listLock.unlock();
+            }
+        } finally {
+            mapLock.unlock();
+        }
+        writeRing.awaitApplied(writeRing.publish(event -> event.set(WriteEvent.CLEAR, null, 0)));
         
         // Reset counters
         totalOperations.set(0);
-        totalWaitTimeMs.set(0);
+        totalWaitTimeNanos.set(0);
+        timedOutOperations.set(0);
         
         // Suggest GC
         System.gc();
@@ -192,13 +743,127 @@ public class LockContentionService {
     }
 
     /**
-     * Get current data store sizes
+     * Get current data store sizes (all strategies combined)
      */
     public int getSharedMapSize() {
-        return sharedMap.size();
+        return sharedMap.size() + concurrentMap.size() + guardedMapSize() + writerMap.size();
     }
 
     public int getSharedListSize() {
-        return sharedList.size();
+        return sharedList.size() + ringBuffer.size() + guardedListSize() + writerList.size();
+    }
+
+    // Unlocked size reads, as for the monitor structures: a stale value is fine for reporting
+    // and taking the lock here would queue metrics calls behind the sleeping holder
+    private int guardedMapSize() {
+        return guardedMap.size();
+    }
+
+    private int guardedListSize() {
+        return guardedList.size();
+    }
+
+    /**
+     * p50/p99/p999 and max of a lock timer over its rolling window, in milliseconds
+     */
+    private Map<String, Object> percentilesMs(Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        Map<String, Object> values = new HashMap<>();
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            String name = percentile.percentile() == 0.5 ? "p50"
+                    : percentile.percentile() == 0.99 ? "p99" : "p999";
+            values.put(name, percentile.value(TimeUnit.MILLISECONDS));
+        }
+        values.put("max", snapshot.max(TimeUnit.MILLISECONDS));
+        values.put("count", snapshot.count());
+        return values;
+    }
+
+    /**
+     * TTL timing wheel for one strategy's map, guarded by its own monitor rather than the map's lock.
+     * Holds only keys and deadlines; with a TTL of 0 every call is a no-op.
+     */
+    private static final class MapExpiry {
+        private final long ttlNanos;
+        private final TimingWheel<String> wheel;
+
+        MapExpiry(long ttlNanos, long tickNanos) {
+            this.ttlNanos = ttlNanos;
+            // Enough buckets for one revolution to cover the TTL, so most timeouts expire on their first visit
+            this.wheel = ttlNanos > 0
+                    ? new TimingWheel<>(tickNanos, (int) Math.min(1 << 16, ttlNanos / tickNanos + 1), System.nanoTime())
+                    : null;
+        }
+
+        synchronized void schedule(String key, long nowNanos) {
+            if (wheel != null) {
+                wheel.schedule(key, ttlNanos, nowNanos);
+            }
+        }
+
+        /**
+         * Keys due by nowNanos; only the buckets of the elapsed ticks are visited
+         */
+        synchronized List<String> advance(long nowNanos) {
+            if (wheel == null) {
+                return Collections.emptyList();
+            }
+            List<String> due = new ArrayList<>();
+            wheel.advance(nowNanos, due::add);
+            return due;
+        }
+
+        synchronized int pending() {
+            return wheel != null ? wheel.pending() : 0;
+        }
+
+        synchronized void clear() {
+            if (wheel != null) {
+                wheel.clear();
+            }
+        }
+    }
+
+    /**
+     * A LOCKFREE key and when it was written, queued for the ticker to schedule
+     */
+    private static final class PendingExpiry {
+        final String key;
+        final long scheduledAtNanos;
+
+        PendingExpiry(String key, long scheduledAtNanos) {
+            this.key = key;
+            this.scheduledAtNanos = scheduledAtNanos;
+        }
+    }
+
+    /**
+     * Outcome of one caller's operations. completed falls short of the requested count when an
+     * interrupt ends the run, or when REENTRANT times out and sheds the rest
+     */
+    static final class StrategyRun {
+        long waitNanos;
+        int completed;
+        boolean timedOut;
+    }
+
+    /**
+     * Preallocated single-writer ring entry, overwritten in place by each publisher
+     */
+    private static final class WriteEvent {
+        static final int PUT = 0;
+        static final int CLEAR = 1;
+        // timestamp carries the System.nanoTime() of the expiry tick
+        static final int EXPIRE = 2;
+
+        int type;
+        String key;
+        long timestamp;
+
+        void set(int type, String key, long timestamp) {
+            this.type = type;
+            this.key = key;
+            this.timestamp = timestamp;
+        }
     }
 }
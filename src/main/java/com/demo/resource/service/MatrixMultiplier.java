@@ -0,0 +1,117 @@
+package com.demo.resource.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Cache-blocked integer matrix multiplication over flat row-major arrays.
+ * Uses i-k-j loop order inside BLOCK x BLOCK tiles so the inner loop streams
+ * contiguous rows of B and C; large products are split by row bands on the {@link CpuWorkExecutor} pool.
+ */
+@Component
+public class MatrixMultiplier {
+
+    // 64 x 64 ints = 16KB per tile, three tiles fit in a typical L2
+    private static final int BLOCK = 64;
+
+    // Below this many rows the fork/join overhead outweighs the gain
+    private static final int PARALLEL_THRESHOLD = 128;
+
+    private final CpuWorkExecutor cpuWorkExecutor;
+
+    public MatrixMultiplier(CpuWorkExecutor cpuWorkExecutor) {
+        this.cpuWorkExecutor = cpuWorkExecutor;
+    }
+
+    /**
+     * rows x cols matrix of values in [0, 10), row-major
+     */
+    public static int[] randomMatrix(int rows, int cols) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int[] matrix = new int[rows * cols];
+        for (int i = 0; i < matrix.length; i++) {
+            matrix[i] = random.nextInt(10);
+        }
+        return matrix;
+    }
+
+    /**
+     * C = A x B where A is n x m and B is m x p, all row-major
+     */
+    public int[] multiply(int[] a, int[] b, int n, int m, int p, boolean parallel) {
+        int[] c = new int[n * p];
+        if (parallel && n >= PARALLEL_THRESHOLD) {
+            cpuWorkExecutor.invoke(new RowBandTask(a, b, c, m, p, 0, n));
+        } else {
+            multiplyRows(a, b, c, m, p, 0, n);
+        }
+        return c;
+    }
+
+    /**
+     * Worker threads available for parallel products
+     */
+    public int getParallelism() {
+        return cpuWorkExecutor.getParallelism();
+    }
+
+    private static void multiplyRows(int[] a, int[] b, int[] c, int m, int p, int rowFrom, int rowTo) {
+        for (int ii = rowFrom; ii < rowTo; ii += BLOCK) {
+            int iMax = Math.min(ii + BLOCK, rowTo);
+            for (int kk = 0; kk < m; kk += BLOCK) {
+                int kMax = Math.min(kk + BLOCK, m);
+                for (int jj = 0; jj < p; jj += BLOCK) {
+                    int jMax = Math.min(jj + BLOCK, p);
+                    for (int i = ii; i < iMax; i++) {
+                        int aRow = i * m;
+                        int cRow = i * p;
+                        for (int k = kk; k < kMax; k++) {
+                            int aik = a[aRow + k];
+                            if (aik == 0) {
+                                continue;
+                            }
+                            int bRow = k * p;
+                            for (int j = jj; j < jMax; j++) {
+                                c[cRow + j] += aik * b[bRow + j];
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class RowBandTask extends RecursiveAction {
+        private final int[] a;
+        private final int[] b;
+        private final int[] c;
+        private final int m;
+        private final int p;
+        private final int rowFrom;
+        private final int rowTo;
+
+        RowBandTask(int[] a, int[] b, int[] c, int m, int p, int rowFrom, int rowTo) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.m = m;
+            this.p = p;
+            this.rowFrom = rowFrom;
+            this.rowTo = rowTo;
+        }
+
+        @Override
+        protected void compute() {
+            if (rowTo - rowFrom <= BLOCK) {
+                multiplyRows(a, b, c, m, p, rowFrom, rowTo);
+                return;
+            }
+            // Split on a tile boundary so each band owns whole row tiles of C
+            int mid = rowFrom + (((rowTo - rowFrom) / 2 + BLOCK - 1) / BLOCK) * BLOCK;
+            invokeAll(new RowBandTask(a, b, c, m, p, rowFrom, mid),
+                      new RowBandTask(a, b, c, m, p, mid, rowTo));
+        }
+    }
+}
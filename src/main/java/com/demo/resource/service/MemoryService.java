@@ -1,26 +1,35 @@
 package com.demo.resource.service;
 
+import com.demo.resource.store.BoundedPayloadStore;
+import com.demo.resource.store.PayloadStore;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class MemoryService {
 
-    private static final Map<String, List<byte[]>> memoryStore = new ConcurrentHashMap<>();
     private static final Random random = new Random();
 
     private Counter loadCounter;
     private Counter stableCounter;
 
     private final MeterRegistry meterRegistry;
+    private final BoundedPayloadStore memoryStore;
 
-    public MemoryService(MeterRegistry meterRegistry) {
+    public MemoryService(MeterRegistry meterRegistry,
+                         @Value("${store.backend:heap}") String storeBackend,
+                         @Value("${store.slab-bytes:4194304}") int slabBytes,
+                         @Value("${memory.store.max-bytes:0}") long maxBytes,
+                         @Value("${memory.store.ttl-seconds:0}") long ttlSeconds) {
         this.meterRegistry = meterRegistry;
+        this.memoryStore = new BoundedPayloadStore(PayloadStore.create(storeBackend, slabBytes), maxBytes, ttlSeconds);
     }
 
     @PostConstruct
@@ -31,6 +40,24 @@ public class MemoryService {
         stableCounter = Counter.builder("memory.stable.calls")
                 .description("Number of memory stable endpoint calls")
                 .register(meterRegistry);
+        Gauge.builder("memory.store.bytes", memoryStore, PayloadStore::payloadBytes)
+                .description("Payload bytes held in the memory store")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("memory.store.entries", memoryStore, PayloadStore::size)
+                .description("Entries held in the memory store")
+                .register(meterRegistry);
+        Gauge.builder("memory.store.hit.ratio", memoryStore, BoundedPayloadStore::hitRatio)
+                .description("Fraction of memory store reads that found a live entry")
+                .register(meterRegistry);
+        FunctionCounter.builder("memory.store.evictions", memoryStore, BoundedPayloadStore::getEvictionCount)
+                .description("Entries removed from the memory store by eviction policy")
+                .tag("cause", "size")
+                .register(meterRegistry);
+        FunctionCounter.builder("memory.store.evictions", memoryStore, BoundedPayloadStore::getExpirationCount)
+                .description("Entries removed from the memory store by eviction policy")
+                .tag("cause", "expired")
+                .register(meterRegistry);
     }
 
     /**
@@ -41,8 +68,7 @@ public class MemoryService {
         
         long startTime = System.currentTimeMillis();
         
-        String key = UUID.randomUUID().toString();
-        List<byte[]> dataList = new ArrayList<>();
+        List<byte[]> dataList = new ArrayList<>(objectCount);
         
         // Very gradual accumulation: 3-5 objects × 0.1-0.3KB (100-300 bytes) each
         for (int i = 0; i < objectCount; i++) {
@@ -52,7 +78,7 @@ public class MemoryService {
             dataList.add(data);
         }
         
-        memoryStore.put(key, dataList);
+        long handle = memoryStore.put(dataList);
         
         long duration = System.currentTimeMillis() - startTime;
         
@@ -62,11 +88,36 @@ public class MemoryService {
         response.put("sizePerObjectBytes", sizeMB * 50);
         response.put("totalStoredBytes", objectCount * sizeMB * 50);
         response.put("totalKeysInStore", memoryStore.size());
+        response.put("storeBytes", memoryStore.payloadBytes());
+        response.put("handle", handle);
         response.put("durationMs", duration);
         
         return response;
     }
 
+    /**
+     * Read back an entry stored by accumulateMemory (counts towards the store hit ratio)
+     */
+    public Map<String, Object> readMemory(long handle) {
+        List<byte[]> chunks = memoryStore.get(handle);
+        long bytes = 0;
+        if (chunks != null) {
+            for (byte[] chunk : chunks) {
+                bytes += chunk.length;
+            }
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("operation", "memory-read");
+        response.put("handle", handle);
+        response.put("found", chunks != null);
+        response.put("objects", chunks != null ? chunks.size() : 0);
+        response.put("bytes", bytes);
+        response.put("hitRatio", memoryStore.hitRatio());
+        
+        return response;
+    }
+
     /**
      * Stable memory operation - no accumulation
      */
@@ -88,6 +139,13 @@ public class MemoryService {
         return memoryStore.size();
     }
 
+    /**
+     * Footprint of the payload store backing /api/mem/load
+     */
+    public Map<String, Object> getMemoryStoreStats() {
+        return memoryStore.stats();
+    }
+
     /**
      * Clear accumulated memory
      */
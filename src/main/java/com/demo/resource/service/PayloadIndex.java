@@ -0,0 +1,159 @@
+package com.demo.resource.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * In-process inverted index over data_record payload tokens.
+ *
+ * Each token maps to a posting list of (record id, term frequency) in ascending id order.
+ * A query is the AND of its tokens: the rarest token's postings are walked and the others are
+ * probed by binary search, and matches are ranked by TF-IDF. Tokens are lowercased runs of
+ * letters and digits, without stemming or stop words.
+ * Built by one thread and then only read, so it needs no locking once published.
+ */
+final class PayloadIndex {
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private int documents;
+    private long postingCount;
+    private long lastId = Long.MIN_VALUE;
+
+    /**
+     * Index one record; ids must be added in ascending order
+     */
+    void add(long id, String payload) {
+        if (id <= lastId) {
+            throw new IllegalArgumentException("Ids must be added in ascending order");
+        }
+        lastId = id;
+        documents++;
+        if (payload == null) {
+            return;
+        }
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokenize(payload)) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), t -> new Postings()).add(id, entry.getValue());
+            postingCount++;
+        }
+    }
+
+    /**
+     * Top matches of every query token, best first (ties by id)
+     */
+    List<Hit> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Query has no searchable tokens");
+        }
+        List<Postings> lists = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            Postings list = postings.get(term);
+            if (list == null) {
+                return Collections.emptyList();
+            }
+            lists.add(list);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+        double[] idf = new double[lists.size()];
+        for (int i = 0; i < idf.length; i++) {
+            idf[i] = Math.log(1.0 + (double) documents / lists.get(i).size);
+        }
+
+        // Min-heap of the best hits so far: lowest score, then highest id, on top
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, (a, b) -> a.score != b.score
+                ? Double.compare(a.score, b.score) : Long.compare(b.id, a.id));
+        Postings rarest = lists.get(0);
+        for (int p = 0; p < rarest.size; p++) {
+            long id = rarest.ids[p];
+            double score = weight(rarest.frequencies[p]) * idf[0];
+            boolean matched = true;
+            for (int i = 1; i < lists.size() && matched; i++) {
+                Postings other = lists.get(i);
+                int index = Arrays.binarySearch(other.ids, 0, other.size, id);
+                if (index < 0) {
+                    matched = false;
+                } else {
+                    score += weight(other.frequencies[index]) * idf[i];
+                }
+            }
+            if (matched) {
+                top.offer(new Hit(id, score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort((a, b) -> a.score != b.score ? Double.compare(b.score, a.score) : Long.compare(a.id, b.id));
+        return hits;
+    }
+
+    int documents() {
+        return documents;
+    }
+
+    int terms() {
+        return postings.size();
+    }
+
+    long postingCount() {
+        return postingCount;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean tokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static double weight(int frequency) {
+        return 1.0 + Math.log(frequency);
+    }
+
+    static final class Hit {
+        final long id;
+        final double score;
+
+        Hit(long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+
+    private static final class Postings {
+        long[] ids = new long[4];
+        int[] frequencies = new int[4];
+        int size;
+
+        void add(long id, int frequency) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ids[size] = id;
+            frequencies[size] = frequency;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.demo.resource.service;
+
+import com.demo.resource.repository.DataRecordRepository;
+import com.demo.resource.repository.PayloadRow;
+import com.demo.resource.repository.RecordSummary;
+import com.demo.resource.repository.SearchHit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PostConstruct;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ranked payload search for /api/db/search, the indexed alternative to the slow path's
+ * unindexed LIKE '%keyword%' scans.
+ */
+@Service
+@Profile("!locks")
+public class PayloadSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(PayloadSearchService.class);
+    private static final int MAX_LIMIT = 500;
+    private static final int INDEX_BATCH_SIZE = 2000;
+
+    private final DataRecordRepository dataRecordRepository;
+    private final MeterRegistry meterRegistry;
+    private final SearchMode defaultMode;
+    private final boolean invertedIndexEnabled;
+
+    // Swapped in whole once a build finishes, so searches never see a partial index
+    private volatile PayloadIndex invertedIndex;
+    private volatile long lastBuildMs;
+    private final AtomicBoolean building = new AtomicBoolean();
+
+    private Timer fulltextTimer;
+    private Timer invertedTimer;
+
+    public PayloadSearchService(DataRecordRepository dataRecordRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${db.search.mode:fulltext}") String defaultMode,
+                                @Value("${db.search.inverted-index.enabled:false}") boolean invertedIndexEnabled) {
+        this.dataRecordRepository = dataRecordRepository;
+        this.meterRegistry = meterRegistry;
+        this.defaultMode = SearchMode.from(defaultMode, SearchMode.FULLTEXT);
+        this.invertedIndexEnabled = invertedIndexEnabled || this.defaultMode == SearchMode.INVERTED;
+    }
+
+    @PostConstruct
+    public void init() {
+        fulltextTimer = searchTimer(SearchMode.FULLTEXT);
+        invertedTimer = searchTimer(SearchMode.INVERTED);
+        Gauge.builder("database.search.index.documents", this, s -> {
+                    PayloadIndex index = s.invertedIndex;
+                    return index != null ? index.documents() : 0;
+                })
+                .description("Records in the in-process payload index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Build the inverted index once the schema and seed data are in place, off the startup thread
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndexOnStartup() {
+        if (!invertedIndexEnabled) {
+            return;
+        }
+        Thread builder = new Thread(() -> {
+            try {
+                rebuildIndex();
+            } catch (RuntimeException e) {
+                log.warn("Payload index build failed", e);
+            }
+        }, "payload-index-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    public SearchMode getDefaultMode() {
+        return defaultMode;
+    }
+
+    /**
+     * Search payloads for records containing every word of the query, best match first
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> search(String query, SearchMode mode, int limit) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new IllegalArgumentException("Query must not be empty");
+        }
+        int cappedLimit = Math.max(1, Math.min(MAX_LIMIT, limit));
+
+        long startTime = System.nanoTime();
+        List<Map<String, Object>> results = mode == SearchMode.INVERTED
+                ? searchInverted(query, cappedLimit)
+                : searchFulltext(query, cappedLimit);
+        long elapsedNanos = System.nanoTime() - startTime;
+        (mode == SearchMode.INVERTED ? invertedTimer : fulltextTimer).record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("operation", "database-search");
+        response.put("mode", mode.label());
+        response.put("query", query);
+        response.put("limit", cappedLimit);
+        response.put("returned", results.size());
+        response.put("results", results);
+        response.put("durationMs", elapsedNanos / 1_000_000.0);
+        return response;
+    }
+
+    /**
+     * Read every payload in keyset batches into a fresh index, then publish it
+     */
+    public Map<String, Object> rebuildIndex() {
+        if (!building.compareAndSet(false, true)) {
+            throw new IllegalStateException("Payload index build already in progress");
+        }
+        try {
+            long startTime = System.currentTimeMillis();
+            PayloadIndex index = new PayloadIndex();
+            long afterId = 0;
+            List<PayloadRow> batch;
+            do {
+                batch = dataRecordRepository.findPayloadBatch(afterId, INDEX_BATCH_SIZE);
+                for (PayloadRow row : batch) {
+                    index.add(row.getId(), row.getPayload());
+                    afterId = row.getId();
+                }
+            } while (batch.size() == INDEX_BATCH_SIZE);
+            invertedIndex = index;
+            lastBuildMs = System.currentTimeMillis() - startTime;
+            log.info("Payload index built: {} records, {} terms in {} ms",
+                    index.documents(), index.terms(), lastBuildMs);
+        } finally {
+            building.set(false);
+        }
+        return getIndexStats();
+    }
+
+    public Map<String, Object> getIndexStats() {
+        PayloadIndex index = invertedIndex;
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", invertedIndexEnabled);
+        stats.put("ready", index != null);
+        stats.put("building", building.get());
+        stats.put("documents", index != null ? index.documents() : 0);
+        stats.put("terms", index != null ? index.terms() : 0);
+        stats.put("postings", index != null ? index.postingCount() : 0);
+        stats.put("lastBuildMs", lastBuildMs);
+        return stats;
+    }
+
+    private List<Map<String, Object>> searchFulltext(String query, int limit) {
+        List<SearchHit> hits = dataRecordRepository.searchPayload(query, limit);
+        List<Map<String, Object>> results = new ArrayList<>(hits.size());
+        for (SearchHit hit : hits) {
+            results.add(toResult(hit, hit.getRank()));
+        }
+        return results;
+    }
+
+    private List<Map<String, Object>> searchInverted(String query, int limit) {
+        PayloadIndex index = invertedIndex;
+        if (index == null) {
+            if (invertedIndexEnabled || building.get()) {
+                throw new IllegalStateException("Payload index is still building");
+            }
+            throw new IllegalArgumentException("Payload index is not built "
+                    + "(set db.search.inverted-index.enabled=true or POST /api/db/search/index)");
+        }
+        List<PayloadIndex.Hit> hits = index.search(query, limit);
+        if (hits.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (PayloadIndex.Hit hit : hits) {
+            ids.add(hit.id);
+        }
+        Map<Long, RecordSummary> summaries = new HashMap<>();
+        for (RecordSummary summary : dataRecordRepository.findSummariesByIdIn(ids)) {
+            summaries.put(summary.getId(), summary);
+        }
+        // Keep the index's ranking; skip records deleted since the last build
+        List<Map<String, Object>> results = new ArrayList<>(hits.size());
+        for (PayloadIndex.Hit hit : hits) {
+            RecordSummary summary = summaries.get(hit.id);
+            if (summary != null) {
+                results.add(toResult(summary, hit.score));
+            }
+        }
+        return results;
+    }
+
+    private static Map<String, Object> toResult(RecordSummary summary, double rank) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("id", summary.getId());
+        result.put("category", summary.getCategory());
+        result.put("timestamp", summary.getTimestamp());
+        result.put("amount", summary.getAmount());
+        result.put("rank", rank);
+        return result;
+    }
+
+    private Timer searchTimer(SearchMode mode) {
+        return Timer.builder("database.search.duration")
+                .description("Payload search latency")
+                .tag("mode", mode.label())
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,305 @@
+package com.demo.resource.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Segmented sieve of Eratosthenes with a shared, growable prime cache.
+ * Requests below the cached limit are answered from the cache; larger requests
+ * sieve only the missing tail, one segment per ForkJoin task on the {@link CpuWorkExecutor} pool.
+ */
+@Component
+public class PrimeSieve {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrimeSieve.class);
+
+    // Numbers per segment; the segment bitset (32KB) stays within L1/L2
+    private static final int SEGMENT_SIZE = 1 << 18;
+
+    private final int maxCachedLimit;
+    private final CpuWorkExecutor cpuWorkExecutor;
+    private final MeterRegistry meterRegistry;
+
+    private final Object extendLock = new Object();
+    private volatile Snapshot snapshot = new Snapshot(new int[1024], 0, 2);
+
+    private Counter hitCounter;
+    private Counter extendCounter;
+    private Counter uncachedCounter;
+
+    public PrimeSieve(MeterRegistry meterRegistry,
+                      CpuWorkExecutor cpuWorkExecutor,
+                      @Value("${cpu.primes.max-cached-limit:10000000}") int maxCachedLimit) {
+        this.meterRegistry = meterRegistry;
+        this.cpuWorkExecutor = cpuWorkExecutor;
+        this.maxCachedLimit = Math.max(2, maxCachedLimit);
+    }
+
+    @PostConstruct
+    public void init() {
+        hitCounter = Counter.builder("cpu.primes.cache.hits")
+                .description("Prime requests served entirely from the sieve cache")
+                .register(meterRegistry);
+        extendCounter = Counter.builder("cpu.primes.cache.extensions")
+                .description("Prime requests that extended the sieve cache")
+                .register(meterRegistry);
+        uncachedCounter = Counter.builder("cpu.primes.cache.uncached")
+                .description("Prime requests above the cacheable limit")
+                .register(meterRegistry);
+        Gauge.builder("cpu.primes.cache.limit", this, s -> s.snapshot.limit)
+                .description("Exclusive upper bound covered by the sieve cache")
+                .register(meterRegistry);
+        Gauge.builder("cpu.primes.cache.size", this, s -> s.snapshot.count)
+                .description("Number of primes held in the sieve cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Number of primes in [2, limit)
+     */
+    public int countBelow(int limit) {
+        if (limit <= 2) {
+            return 0;
+        }
+        if (limit > maxCachedLimit) {
+            uncachedCounter.increment();
+            Snapshot cached = ensureCached(maxCachedLimit, false);
+            int tail = sieveRange(cached.limit, limit, basePrimesFor(limit), false).count;
+            return cached.count + tail;
+        }
+        Snapshot cached = ensureCached(limit, true);
+        return countInCache(cached, limit);
+    }
+
+    /**
+     * All primes in [2, limit) as a freshly allocated array
+     */
+    public int[] primesBelow(int limit) {
+        if (limit <= 2) {
+            return new int[0];
+        }
+        if (limit > maxCachedLimit) {
+            uncachedCounter.increment();
+            Snapshot cached = ensureCached(maxCachedLimit, false);
+            SegmentResult tail = sieveRange(cached.limit, limit, basePrimesFor(limit), true);
+            int[] result = Arrays.copyOf(cached.primes, cached.count + tail.count);
+            System.arraycopy(tail.primes, 0, result, cached.count, tail.count);
+            return result;
+        }
+        Snapshot cached = ensureCached(limit, true);
+        return Arrays.copyOf(cached.primes, countInCache(cached, limit));
+    }
+
+    /**
+     * Exclusive upper bound currently covered by the cache
+     */
+    public int getCachedLimit() {
+        return snapshot.limit;
+    }
+
+    /**
+     * Number of primes currently held in the cache
+     */
+    public int getCachedCount() {
+        return snapshot.count;
+    }
+
+    // Helper methods
+
+    /**
+     * @param countHit false on the uncached path, which is counted as uncached rather than as a hit
+     */
+    private Snapshot ensureCached(int limit, boolean countHit) {
+        Snapshot current = snapshot;
+        if (limit <= current.limit) {
+            if (countHit) {
+                hitCounter.increment();
+            }
+            return current;
+        }
+        synchronized (extendLock) {
+            current = snapshot;
+            if (limit <= current.limit) {
+                // Another caller extended the cache while we waited
+                if (countHit) {
+                    hitCounter.increment();
+                }
+                return current;
+            }
+            extendCounter.increment();
+
+            // Grow geometrically so a slowly rising limit does not re-sieve every call
+            int newLimit = (int) Math.min(maxCachedLimit, Math.max(limit, 2L * current.limit));
+            long start = System.nanoTime();
+            SegmentResult tail = sieveRange(current.limit, newLimit, basePrimesFor(newLimit), true);
+
+            int[] primes = current.primes;
+            int count = current.count + tail.count;
+            if (count > primes.length) {
+                primes = Arrays.copyOf(primes, Math.max(count, primes.length * 2));
+            }
+            // Readers of the old snapshot never look past its count, so appending in place is safe
+            System.arraycopy(tail.primes, 0, primes, current.count, tail.count);
+            Snapshot extended = new Snapshot(primes, count, newLimit);
+            snapshot = extended;
+
+            logger.debug("Extended prime cache from {} to {} ({} primes) in {}us",
+                         current.limit, newLimit, count, (System.nanoTime() - start) / 1000);
+            return extended;
+        }
+    }
+
+    private int countInCache(Snapshot cached, int limit) {
+        int idx = Arrays.binarySearch(cached.primes, 0, cached.count, limit);
+        return idx >= 0 ? idx : -idx - 1;
+    }
+
+    /**
+     * Primes up to sqrt(limit), taken from the cache when it already covers them
+     */
+    private int[] basePrimesFor(int limit) {
+        int root = (int) Math.sqrt((double) limit) + 1;
+        Snapshot current = snapshot;
+        if (root < current.limit) {
+            return Arrays.copyOf(current.primes, countInCache(current, root + 1));
+        }
+        SegmentResult base = sieveSegment(2, root + 1, new int[0], true);
+        return Arrays.copyOf(base.primes, base.count);
+    }
+
+    private SegmentResult sieveRange(int lo, int hi, int[] basePrimes, boolean collect) {
+        if (hi <= lo) {
+            return new SegmentResult(new int[0], 0);
+        }
+        int segments = (int) (((long) hi - lo + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+        SegmentResult[] results = new SegmentResult[segments];
+        cpuWorkExecutor.invoke(new SegmentTask(lo, hi, basePrimes, collect, results, 0, segments));
+
+        int total = 0;
+        for (SegmentResult result : results) {
+            total += result.count;
+        }
+        if (!collect) {
+            return new SegmentResult(null, total);
+        }
+        int[] primes = new int[total];
+        int offset = 0;
+        for (SegmentResult result : results) {
+            System.arraycopy(result.primes, 0, primes, offset, result.count);
+            offset += result.count;
+        }
+        return new SegmentResult(primes, total);
+    }
+
+    /**
+     * Sieve [lo, hi) against the given base primes.
+     * When basePrimes is empty the segment is sieved on its own (used for the base primes themselves).
+     */
+    private static SegmentResult sieveSegment(int lo, int hi, int[] basePrimes, boolean collect) {
+        int length = hi - lo;
+        long[] composite = new long[(length + 63) >>> 6];
+
+        if (basePrimes.length == 0) {
+            for (long p = 2; p * p < hi; p++) {
+                if ((composite[(int) (p - lo) >>> 6] & (1L << (p - lo))) != 0) {
+                    continue;
+                }
+                for (long m = p * p; m < hi; m += p) {
+                    composite[(int) (m - lo) >>> 6] |= 1L << (m - lo);
+                }
+            }
+        } else {
+            for (int p : basePrimes) {
+                long square = (long) p * p;
+                if (square >= hi) {
+                    break;
+                }
+                long start = Math.max(square, ((lo + (long) p - 1) / p) * p);
+                for (long m = start; m < hi; m += p) {
+                    composite[(int) (m - lo) >>> 6] |= 1L << (m - lo);
+                }
+            }
+        }
+
+        int[] primes = collect ? new int[Math.max(16, length / 8)] : null;
+        int count = 0;
+        for (int n = Math.max(lo, 2); n < hi; n++) {
+            int offset = n - lo;
+            if ((composite[offset >>> 6] & (1L << offset)) == 0) {
+                if (collect) {
+                    if (count == primes.length) {
+                        primes = Arrays.copyOf(primes, primes.length * 2);
+                    }
+                    primes[count] = n;
+                }
+                count++;
+            }
+        }
+        return new SegmentResult(primes, count);
+    }
+
+    private static final class Snapshot {
+        final int[] primes;
+        final int count;
+        final int limit;
+
+        Snapshot(int[] primes, int count, int limit) {
+            this.primes = primes;
+            this.count = count;
+            this.limit = limit;
+        }
+    }
+
+    private static final class SegmentResult {
+        final int[] primes;
+        final int count;
+
+        SegmentResult(int[] primes, int count) {
+            this.primes = primes;
+            this.count = count;
+        }
+    }
+
+    private static final class SegmentTask extends RecursiveAction {
+        private final int lo;
+        private final int hi;
+        private final int[] basePrimes;
+        private final boolean collect;
+        private final SegmentResult[] results;
+        private final int fromSegment;
+        private final int toSegment;
+
+        SegmentTask(int lo, int hi, int[] basePrimes, boolean collect,
+                    SegmentResult[] results, int fromSegment, int toSegment) {
+            this.lo = lo;
+            this.hi = hi;
+            this.basePrimes = basePrimes;
+            this.collect = collect;
+            this.results = results;
+            this.fromSegment = fromSegment;
+            this.toSegment = toSegment;
+        }
+
+        @Override
+        protected void compute() {
+            if (toSegment - fromSegment == 1) {
+                int segLo = (int) ((long) lo + (long) fromSegment * SEGMENT_SIZE);
+                int segHi = (int) Math.min(hi, (long) segLo + SEGMENT_SIZE);
+                results[fromSegment] = sieveSegment(segLo, segHi, basePrimes, collect);
+                return;
+            }
+            int mid = (fromSegment + toSegment) >>> 1;
+            invokeAll(new SegmentTask(lo, hi, basePrimes, collect, results, fromSegment, mid),
+                      new SegmentTask(lo, hi, basePrimes, collect, results, mid, toSegment));
+        }
+    }
+}
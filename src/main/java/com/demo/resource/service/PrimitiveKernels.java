@@ -0,0 +1,140 @@
+package com.demo.resource.service;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Allocation-light kernels backing the PRIMITIVE CPU engine.
+ * All methods work on primitive arrays so no boxing happens on the hot path.
+ */
+public final class PrimitiveKernels {
+
+    private static final java.lang.management.ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+
+    private PrimitiveKernels() {
+    }
+
+    /**
+     * Squares of the even numbers in [0, count), same int arithmetic as the boxed pipeline
+     */
+    public static int[] evenSquares(int count) {
+        int[] squares = new int[(count + 1) / 2];
+        int idx = 0;
+        for (int n = 0; n < count; n += 2) {
+            squares[idx++] = n * n;
+        }
+        return squares;
+    }
+
+    /**
+     * The k largest values in descending order.
+     * Uses a bounded min-heap when k is small relative to the input, otherwise a parallel sort.
+     */
+    public static int[] topKDescending(int[] values, int k) {
+        int n = values.length;
+        if (k <= 0 || n == 0) {
+            return new int[0];
+        }
+        if (k >= n / 4) {
+            int[] sorted = Arrays.copyOf(values, n);
+            Arrays.parallelSort(sorted);
+            int size = Math.min(k, n);
+            int[] result = new int[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = sorted[n - 1 - i];
+            }
+            return result;
+        }
+
+        int[] heap = new int[k];
+        int size = 0;
+        for (int value : values) {
+            if (size < k) {
+                heap[size] = value;
+                siftUp(heap, size++);
+            } else if (value > heap[0]) {
+                heap[0] = value;
+                siftDown(heap, 0, k);
+            }
+        }
+        // Drain the min-heap back to front to get descending order
+        int[] result = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            result[i] = heap[0];
+            heap[0] = heap[--size];
+            siftDown(heap, 0, size);
+        }
+        return result;
+    }
+
+    /**
+     * Shuffled 0..count-1 sorted back into descending order
+     */
+    public static int[] shuffleAndSortDescending(int count, Random random) {
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = i;
+        }
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+        Arrays.parallelSort(values);
+        for (int i = 0, j = count - 1; i < j; i++, j--) {
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+        return values;
+    }
+
+    /**
+     * Bytes allocated so far by the current thread, or -1 when the JVM cannot report it.
+     * Allocations made by ForkJoin workers on behalf of this thread are not included.
+     */
+    public static long currentThreadAllocatedBytes() {
+        if (THREAD_BEAN instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) THREAD_BEAN;
+            if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    private static void siftUp(int[] heap, int idx) {
+        int value = heap[idx];
+        while (idx > 0) {
+            int parent = (idx - 1) >>> 1;
+            if (heap[parent] <= value) {
+                break;
+            }
+            heap[idx] = heap[parent];
+            idx = parent;
+        }
+        heap[idx] = value;
+    }
+
+    private static void siftDown(int[] heap, int idx, int size) {
+        if (size == 0) {
+            return;
+        }
+        int value = heap[idx];
+        int half = size >>> 1;
+        while (idx < half) {
+            int child = 2 * idx + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (value <= heap[child]) {
+                break;
+            }
+            heap[idx] = heap[child];
+            idx = child;
+        }
+        heap[idx] = value;
+    }
+}
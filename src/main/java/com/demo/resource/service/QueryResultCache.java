@@ -0,0 +1,194 @@
+package com.demo.resource.service;
+
+import com.demo.resource.concurrent.RefreshAheadCache;
+import com.demo.resource.entity.DataRecord;
+import com.demo.resource.entity.RelatedEntity;
+import com.demo.resource.repository.DataRecordRepository;
+import com.demo.resource.repository.RelatedEntityRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Refresh-ahead result cache for the /api/db/fast category and status queries.
+ *
+ * Results are keyed by query name and parameter and stored as unmodifiable lists of
+ * snapshots. Entries are reloaded in the background once they reach refresh-ahead x TTL,
+ * so the few hot keys stay cached; rows written since the last load show up within one TTL.
+ */
+@Service
+@Profile("!locks")
+public class QueryResultCache {
+
+    private static final String CACHE_NAME = "query-result";
+    private static final int REFRESH_THREADS = 2;
+    private static final int REFRESH_QUEUE_CAPACITY = 64;
+
+    private final DataRecordRepository dataRecordRepository;
+    private final RelatedEntityRepository relatedEntityRepository;
+    private final MeterRegistry meterRegistry;
+    private final long ttlSeconds;
+    private final double refreshAhead;
+    // Null when disabled: every call runs the query
+    private final RefreshAheadCache<String, List<?>> cache;
+    private final ThreadPoolExecutor refreshExecutor;
+
+    private Timer loadTimer;
+
+    public QueryResultCache(DataRecordRepository dataRecordRepository,
+                            RelatedEntityRepository relatedEntityRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${db.cache.query.enabled:false}") boolean enabled,
+                            @Value("${db.cache.query.ttl-seconds:30}") long ttlSeconds,
+                            @Value("${db.cache.query.refresh-ahead:0.8}") double refreshAhead,
+                            @Value("${db.cache.query.max-entries:1000}") int maxEntries) {
+        this.dataRecordRepository = dataRecordRepository;
+        this.relatedEntityRepository = relatedEntityRepository;
+        this.meterRegistry = meterRegistry;
+        this.ttlSeconds = Math.max(1, ttlSeconds);
+        this.refreshAhead = Math.max(0.0, Math.min(1.0, refreshAhead));
+        if (enabled) {
+            AtomicInteger threadCount = new AtomicInteger();
+            // Bounded queue: a refresh that does not fit is retried by a later read of the entry
+            this.refreshExecutor = new ThreadPoolExecutor(REFRESH_THREADS, REFRESH_THREADS, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(REFRESH_QUEUE_CAPACITY), r -> {
+                        Thread thread = new Thread(r, "query-cache-refresh-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            long ttlNanos = TimeUnit.SECONDS.toNanos(this.ttlSeconds);
+            this.cache = new RefreshAheadCache<>(ttlNanos, (long) (ttlNanos * this.refreshAhead),
+                    maxEntries, refreshExecutor);
+        } else {
+            this.refreshExecutor = null;
+            this.cache = null;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        loadTimer = Timer.builder("cache.load.duration")
+                .description("Query executions for result-cache misses and refreshes")
+                .tag("cache", CACHE_NAME)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        if (cache == null) {
+            return;
+        }
+        cacheCounter("cache.gets", "Result-cache lookups", "result", "hit", RefreshAheadCache::hits);
+        cacheCounter("cache.gets", "Result-cache lookups", "result", "miss", RefreshAheadCache::misses);
+        cacheCounter("cache.refreshes", "Entries reloaded ahead of expiry", null, null, RefreshAheadCache::refreshes);
+        cacheCounter("cache.refresh.failures", "Background reloads that threw", null, null,
+                RefreshAheadCache::refreshFailures);
+        cacheCounter("cache.refresh.rejections", "Background reloads dropped by a full refresh queue", null, null,
+                RefreshAheadCache::refreshRejections);
+        Gauge.builder("cache.size", cache, RefreshAheadCache::size)
+                .description("Cached query results")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Up to 100 records of the category (findByCategoryFast)
+     */
+    @SuppressWarnings("unchecked")
+    public List<RecordSnapshot> recordsByCategory(String category) {
+        if (cache == null) {
+            return loadCategory(category);
+        }
+        return (List<RecordSnapshot>) cache.get("findByCategoryFast:" + category, key -> loadCategory(category));
+    }
+
+    /**
+     * Up to 50 related entities with the status (findByStatusFast)
+     */
+    @SuppressWarnings("unchecked")
+    public List<RelatedSnapshot> relatedByStatus(String status) {
+        if (cache == null) {
+            return loadStatus(status);
+        }
+        return (List<RelatedSnapshot>) cache.get("findByStatusFast:" + status, key -> loadStatus(status));
+    }
+
+    /**
+     * Drop every cached result, for bulk writes
+     */
+    public void clear() {
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", cache != null);
+        if (cache != null) {
+            long hits = cache.hits();
+            long lookups = hits + cache.misses();
+            stats.put("size", cache.size());
+            stats.put("ttlSeconds", ttlSeconds);
+            stats.put("refreshAhead", refreshAhead);
+            stats.put("hits", hits);
+            stats.put("misses", cache.misses());
+            stats.put("hitRatio", lookups > 0 ? (double) hits / lookups : 0.0);
+            stats.put("refreshes", cache.refreshes());
+            stats.put("refreshFailures", cache.refreshFailures());
+            stats.put("refreshRejections", cache.refreshRejections());
+        }
+        stats.put("loadMeanMs", loadTimer.mean(TimeUnit.MILLISECONDS));
+        return stats;
+    }
+
+    private List<RecordSnapshot> loadCategory(String category) {
+        List<DataRecord> records = loadTimer.record(() -> dataRecordRepository.findByCategoryFast(category));
+        List<RecordSnapshot> snapshots = new ArrayList<>(records.size());
+        for (DataRecord record : records) {
+            snapshots.add(RecordSnapshot.of(record));
+        }
+        return Collections.unmodifiableList(snapshots);
+    }
+
+    private List<RelatedSnapshot> loadStatus(String status) {
+        List<RelatedEntity> entities = loadTimer.record(() -> relatedEntityRepository.findByStatusFast(status));
+        List<RelatedSnapshot> snapshots = new ArrayList<>(entities.size());
+        for (RelatedEntity entity : entities) {
+            snapshots.add(RelatedSnapshot.of(entity));
+        }
+        return Collections.unmodifiableList(snapshots);
+    }
+
+    private void cacheCounter(String name, String description, String tagKey, String tagValue,
+                              ToDoubleFunction<RefreshAheadCache<String, List<?>>> count) {
+        FunctionCounter.Builder<RefreshAheadCache<String, List<?>>> builder = FunctionCounter.builder(name, cache, count)
+                .description(description)
+                .tag("cache", CACHE_NAME);
+        if (tagKey != null) {
+            builder.tag(tagKey, tagValue);
+        }
+        builder.register(meterRegistry);
+    }
+}
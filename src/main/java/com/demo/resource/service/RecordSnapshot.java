@@ -0,0 +1,50 @@
+package com.demo.resource.service;
+
+import com.demo.resource.entity.DataRecord;
+import com.demo.resource.repository.RecordSummary;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of a record's summary columns, safe to share between threads and requests.
+ * Caches hold these rather than entities, which would be detached with lazy collections.
+ */
+public final class RecordSnapshot implements RecordSummary {
+
+    private final Long id;
+    private final String category;
+    private final LocalDateTime timestamp;
+    private final BigDecimal amount;
+
+    public RecordSnapshot(Long id, String category, LocalDateTime timestamp, BigDecimal amount) {
+        this.id = id;
+        this.category = category;
+        this.timestamp = timestamp;
+        this.amount = amount;
+    }
+
+    public static RecordSnapshot of(DataRecord record) {
+        return new RecordSnapshot(record.getId(), record.getCategory(), record.getTimestamp(), record.getAmount());
+    }
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getCategory() {
+        return category;
+    }
+
+    @Override
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public BigDecimal getAmount() {
+        return amount;
+    }
+}
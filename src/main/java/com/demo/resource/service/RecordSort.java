@@ -0,0 +1,34 @@
+package com.demo.resource.service;
+
+import java.util.Locale;
+
+/**
+ * Keyset order for /api/db/records. Every order ends with id so the key is unique:
+ * ID ascending, CATEGORY as (category, id) ascending, TIMESTAMP as (timestamp, id) newest first.
+ * Rows whose category or timestamp is NULL (e.g. ingested from a CSV without that column) come
+ * last, as a tail segment ordered by id alone: ascending for CATEGORY, descending for TIMESTAMP.
+ */
+public enum RecordSort {
+    ID,
+    CATEGORY,
+    TIMESTAMP;
+
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Resolve a sort name, falling back to the given default when no value is supplied
+     */
+    public static RecordSort from(String value, RecordSort fallback) {
+        if (value == null || value.trim().isEmpty()) {
+            return fallback;
+        }
+        try {
+            return RecordSort.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown sort: " + value
+                    + " (expected id, category or timestamp)");
+        }
+    }
+}
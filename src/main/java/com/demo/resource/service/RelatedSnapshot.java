@@ -0,0 +1,37 @@
+package com.demo.resource.service;
+
+import com.demo.resource.entity.RelatedEntity;
+
+/**
+ * Immutable copy of a related entity's key columns (the TEXT metadata is left out)
+ */
+public final class RelatedSnapshot {
+
+    private final Long id;
+    private final Long dataRecordId;
+    private final String status;
+
+    public RelatedSnapshot(Long id, Long dataRecordId, String status) {
+        this.id = id;
+        this.dataRecordId = dataRecordId;
+        this.status = status;
+    }
+
+    public static RelatedSnapshot of(RelatedEntity entity) {
+        // Reading the id of the lazy DataRecord proxy does not initialise it
+        Long recordId = entity.getDataRecord() != null ? entity.getDataRecord().getId() : null;
+        return new RelatedSnapshot(entity.getId(), recordId, entity.getStatus());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getDataRecordId() {
+        return dataRecordId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,31 @@
+package com.demo.resource.service;
+
+import java.util.Locale;
+
+/**
+ * How /api/db/search finds payload matches: FULLTEXT through the GIN tsvector index built by
+ * data.sql, INVERTED through the in-process token index (for databases without that index).
+ */
+public enum SearchMode {
+    FULLTEXT,
+    INVERTED;
+
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Resolve a mode name, falling back to the given default when no value is supplied
+     */
+    public static SearchMode from(String value, SearchMode fallback) {
+        if (value == null || value.trim().isEmpty()) {
+            return fallback;
+        }
+        try {
+            return SearchMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown search mode: " + value
+                    + " (expected fulltext or inverted)");
+        }
+    }
+}
@@ -0,0 +1,451 @@
+package com.demo.resource.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-place reseed for POST /api/db/reset.
+ *
+ * Generates the same rows as the data.sql seed block, times a scale factor, and writes each
+ * table with several parallel COPY streams, one pooled connection and one id range per stream.
+ * Secondary indexes are dropped before the load and rebuilt concurrently after it, so the
+ * load only maintains primary keys. data_record goes first because of the related_entity
+ * foreign key; related_entity and audit_log then load side by side.
+ *
+ * Each stream commits on its own, so a failed reseed leaves partial tables (the indexes are
+ * rebuilt either way); run it again to recover.
+ */
+@Service
+@Profile("!locks")
+public class SeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(SeedService.class);
+
+    private static final List<String> TABLES = Arrays.asList("data_record", "related_entity", "audit_log");
+    // Row counts of the data.sql seed, i.e. scale 1
+    private static final long BASE_RECORDS = 75_000;
+    private static final long BASE_AUDIT_LOGS = 200_000;
+    // Smaller tables are not worth splitting further
+    private static final long MIN_ROWS_PER_STREAM = 10_000;
+    private static final int COPY_BUFFER_CHARS = 64 * 1024;
+    private static final String INDEX_BUILD_MEMORY = "256MB";
+
+    private static final String DATA_PADDING = repeat("data ", 50);
+    private static final String METADATA_PADDING = repeat("metadata ", 20);
+    private static final String AUDIT_PADDING = repeat("audit ", 15);
+
+    private final DataSource dataSource;
+    private final DataRecordCache dataRecordCache;
+    private final QueryResultCache queryResultCache;
+    private final PayloadSearchService payloadSearchService;
+    private final MeterRegistry meterRegistry;
+    private final double defaultScale;
+    private final double maxScale;
+    private final int parallelism;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public SeedService(DataSource dataSource,
+                       DataRecordCache dataRecordCache,
+                       QueryResultCache queryResultCache,
+                       PayloadSearchService payloadSearchService,
+                       MeterRegistry meterRegistry,
+                       @Value("${db.seed.scale:1}") double defaultScale,
+                       @Value("${db.seed.max-scale:100}") double maxScale,
+                       @Value("${db.seed.parallelism:4}") int parallelism) {
+        this.dataSource = dataSource;
+        this.dataRecordCache = dataRecordCache;
+        this.queryResultCache = queryResultCache;
+        this.payloadSearchService = payloadSearchService;
+        this.meterRegistry = meterRegistry;
+        this.defaultScale = defaultScale;
+        this.maxScale = maxScale;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public double getDefaultScale() {
+        return defaultScale;
+    }
+
+    /**
+     * Empty all three tables without reseeding
+     */
+    public Map<String, Object> truncate() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Database reset already in progress");
+        }
+        try {
+            long startNanos = System.nanoTime();
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("TRUNCATE TABLE " + String.join(", ", TABLES) + " RESTART IDENTITY CASCADE");
+            } catch (SQLException e) {
+                throw new IllegalStateException("Truncate failed: " + e.getMessage(), e);
+            }
+            clearCaches();
+            Map<String, Object> response = new HashMap<>();
+            response.put("operation", "database-reset");
+            response.put("status", "completed");
+            response.put("reseeded", false);
+            response.put("truncateMs", millisSince(startNanos));
+            response.put("timestamp", System.currentTimeMillis());
+            return response;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Truncate and regenerate all three tables at the given multiple of the data.sql volume
+     */
+    public Map<String, Object> reseed(double scale) {
+        if (!(scale > 0) || scale > maxScale) {
+            throw new IllegalArgumentException("scale must be > 0 and <= " + maxScale + ", got " + scale);
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Database reset already in progress");
+        }
+        long records = Math.max(1, Math.round(BASE_RECORDS * scale));
+        long relatedEntities = records * 2;
+        long auditLogs = Math.max(1, Math.round(BASE_AUDIT_LOGS * scale));
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        List<SeedTable> tables = Arrays.asList(
+                new SeedTable("data_record", "id, payload, timestamp, category, amount", records,
+                        (row, i) -> row.append(i)
+                                .append("\tSample data payload with content for record ").append(i)
+                                .append(' ').append(DATA_PADDING)
+                                .append('\t').append(now.minusMinutes(i))
+                                .append("\tcategory_").append(i % 10)
+                                .append('\t').append(randomAmount())),
+                new SeedTable("related_entity", "id, data_record_id, metadata, status", relatedEntities,
+                        (row, i) -> row.append(i)
+                                .append('\t').append(i % records + 1)
+                                .append("\tMetadata for related entity ").append(i)
+                                .append(" with additional information ").append(METADATA_PADDING)
+                                .append("\tstatus_").append(i % 5)),
+                new SeedTable("audit_log", "id, record_id, related_id, description, created_at", auditLogs,
+                        (row, i) -> row.append(i)
+                                .append('\t').append(i % records + 1)
+                                .append('\t').append(i % relatedEntities + 1)
+                                .append("\tAudit log entry ").append(i)
+                                .append(" describing action taken on record with details ").append(AUDIT_PADDING)
+                                .append('\t').append(now.minusMinutes(i))));
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, task -> {
+            Thread thread = new Thread(task, "db-seed-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long startNanos = System.nanoTime();
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("operation", "database-reset");
+            response.put("reseeded", true);
+            response.put("scale", scale);
+            response.put("parallelism", parallelism);
+
+            long stepNanos = System.nanoTime();
+            Map<String, String> indexes = truncateAndDropIndexes(tables);
+            response.put("truncateMs", millisSince(stepNanos));
+
+            Map<String, Object> tableStats = new LinkedHashMap<>();
+            Map<String, Object> indexStats;
+            try {
+                // Parent first, then both children at once
+                tableStats.put("data_record", load(executor, Collections.singletonList(tables.get(0))).get(0));
+                List<Map<String, Object>> children = load(executor, tables.subList(1, 3));
+                tableStats.put("related_entity", children.get(0));
+                tableStats.put("audit_log", children.get(1));
+            } finally {
+                indexStats = rebuildIndexes(executor, indexes);
+            }
+            response.put("tables", tableStats);
+            response.put("indexes", indexStats);
+
+            stepNanos = System.nanoTime();
+            analyze(tables);
+            response.put("analyzeMs", millisSince(stepNanos));
+
+            clearCaches();
+            if (Boolean.TRUE.equals(payloadSearchService.getIndexStats().get("ready"))) {
+                stepNanos = System.nanoTime();
+                payloadSearchService.rebuildIndex();
+                response.put("searchIndexRebuildMs", millisSince(stepNanos));
+            }
+
+            long elapsedNanos = System.nanoTime() - startNanos;
+            Timer.builder("database.seed.duration")
+                    .description("Time to truncate and reseed the database")
+                    .register(meterRegistry)
+                    .record(elapsedNanos, TimeUnit.NANOSECONDS);
+            response.put("status", "completed");
+            response.put("totalRows", records + relatedEntities + auditLogs);
+            response.put("totalMs", elapsedNanos / 1_000_000.0);
+            response.put("timestamp", System.currentTimeMillis());
+            log.info("Reseeded {} rows at scale {} in {} ms", records + relatedEntities + auditLogs, scale,
+                    elapsedNanos / 1_000_000);
+            return response;
+        } finally {
+            executor.shutdownNow();
+            running.set(false);
+        }
+    }
+
+    /**
+     * @return definitions of the dropped indexes, by name
+     */
+    private Map<String, String> truncateAndDropIndexes(List<SeedTable> tables) {
+        Map<String, String> indexes = new LinkedHashMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                // Everything except the indexes behind primary key and unique constraints
+                try (ResultSet rs = statement.executeQuery("SELECT indexname, indexdef FROM pg_indexes"
+                        + " WHERE schemaname = current_schema() AND tablename IN ('" + String.join("', '", TABLES) + "')"
+                        + " AND indexname NOT IN (SELECT conname FROM pg_constraint WHERE conindid <> 0)"
+                        + " ORDER BY indexname")) {
+                    while (rs.next()) {
+                        indexes.put(rs.getString(1), rs.getString(2));
+                    }
+                }
+                statement.execute("TRUNCATE TABLE " + String.join(", ", TABLES) + " RESTART IDENTITY CASCADE");
+                // Reserve ids 1..rows for the COPY streams in the same transaction, so rows inserted
+                // meanwhile through the sequence (the audit writer) cannot collide with them
+                for (SeedTable table : tables) {
+                    statement.execute("SELECT setval(pg_get_serial_sequence('" + table.name + "', 'id'), "
+                            + table.rows + ")");
+                }
+                for (String index : indexes.keySet()) {
+                    statement.execute("DROP INDEX IF EXISTS " + index);
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Truncate failed: " + e.getMessage(), e);
+        }
+        return indexes;
+    }
+
+    private List<Map<String, Object>> load(ExecutorService executor, List<SeedTable> tables) {
+        List<List<Future<Long>>> streams = new ArrayList<>();
+        long[] startNanos = new long[tables.size()];
+        for (int t = 0; t < tables.size(); t++) {
+            SeedTable table = tables.get(t);
+            int streamCount = (int) Math.max(1, Math.min(parallelism, table.rows / MIN_ROWS_PER_STREAM));
+            List<Future<Long>> futures = new ArrayList<>(streamCount);
+            startNanos[t] = System.nanoTime();
+            for (int s = 0; s < streamCount; s++) {
+                // Ids are 1-based and each stream owns a contiguous range
+                long first = table.rows * s / streamCount + 1;
+                long last = table.rows * (s + 1) / streamCount;
+                futures.add(executor.submit(() -> copyRange(table, first, last)));
+            }
+            streams.add(futures);
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>(tables.size());
+        try {
+            for (int t = 0; t < tables.size(); t++) {
+                SeedTable table = tables.get(t);
+                long rows = 0;
+                for (Future<Long> future : streams.get(t)) {
+                    rows += await(future);
+                }
+                long elapsedNanos = System.nanoTime() - startNanos[t];
+                Counter.builder("database.seed.rows")
+                        .description("Rows written by database reseeds")
+                        .tag("table", table.name)
+                        .register(meterRegistry)
+                        .increment(rows);
+                Map<String, Object> stats = new HashMap<>();
+                stats.put("rows", rows);
+                stats.put("streams", streams.get(t).size());
+                stats.put("loadMs", elapsedNanos / 1_000_000.0);
+                stats.put("rowsPerSecond", Math.round(rows / Math.max(elapsedNanos / 1_000_000_000.0, 1e-9)));
+                results.add(stats);
+            }
+        } catch (RuntimeException e) {
+            for (List<Future<Long>> futures : streams) {
+                futures.forEach(f -> f.cancel(true));
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    private long copyRange(SeedTable table, long first, long last) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                // Losing the tail of a reseed on a crash is fine; it is rerun anyway
+                statement.execute("SET synchronous_commit = off");
+            }
+            CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn("COPY " + table.name + " (" + table.columns + ") FROM STDIN");
+            try {
+                StringBuilder buffer = new StringBuilder(COPY_BUFFER_CHARS + 1024);
+                for (long i = first; i <= last; i++) {
+                    table.generator.append(buffer, i);
+                    buffer.append('\n');
+                    if (buffer.length() >= COPY_BUFFER_CHARS) {
+                        if (Thread.currentThread().isInterrupted()) {
+                            throw new SQLException("Seed stream for " + table.name + " cancelled");
+                        }
+                        writeToCopy(copy, buffer);
+                    }
+                }
+                writeToCopy(copy, buffer);
+                return copy.endCopy();
+            } finally {
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+            }
+        }
+    }
+
+    private Map<String, Object> rebuildIndexes(ExecutorService executor, Map<String, String> indexes) {
+        long startNanos = System.nanoTime();
+        Map<String, Future<Double>> builds = new LinkedHashMap<>();
+        indexes.forEach((name, definition) -> builds.put(name, executor.submit(() -> createIndex(definition))));
+        Map<String, Object> perIndexMs = new LinkedHashMap<>();
+        List<String> failed = new ArrayList<>();
+        for (Map.Entry<String, Future<Double>> build : builds.entrySet()) {
+            try {
+                perIndexMs.put(build.getKey(), await(build.getValue()));
+            } catch (RuntimeException e) {
+                log.error("Rebuilding index {} failed: {}", build.getKey(), indexes.get(build.getKey()), e);
+                failed.add(build.getKey());
+            }
+        }
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("rebuilt", perIndexMs.size());
+        stats.put("perIndexMs", perIndexMs);
+        stats.put("rebuildMs", millisSince(startNanos));
+        if (!failed.isEmpty()) {
+            stats.put("failed", failed);
+        }
+        return stats;
+    }
+
+    private double createIndex(String definition) throws SQLException {
+        long startNanos = System.nanoTime();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SET maintenance_work_mem = '" + INDEX_BUILD_MEMORY + "'");
+            statement.execute(definition);
+            statement.execute("RESET maintenance_work_mem");
+        }
+        return millisSince(startNanos);
+    }
+
+    private void analyze(List<SeedTable> tables) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (SeedTable table : tables) {
+                statement.execute("ANALYZE " + table.name);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Analyze after reseed failed: " + e.getMessage(), e);
+        }
+    }
+
+    private void clearCaches() {
+        dataRecordCache.clear();
+        queryResultCache.clear();
+    }
+
+    private static void writeToCopy(CopyIn copy, StringBuilder buffer) throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    // Same range as (random() * 1000)::DECIMAL(10,2)
+    private static String randomAmount() {
+        int cents = ThreadLocalRandom.current().nextInt(100_001);
+        int fraction = cents % 100;
+        return (cents / 100) + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during reseed", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw new IllegalStateException("Reseed failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    private static double millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
+    }
+
+    private static String repeat(String text, int times) {
+        StringBuilder repeated = new StringBuilder(text.length() * times);
+        for (int i = 0; i < times; i++) {
+            repeated.append(text);
+        }
+        return repeated.toString();
+    }
+
+    private interface RowGenerator {
+        /**
+         * Append row i as COPY text-format columns, without the line terminator
+         */
+        void append(StringBuilder row, long i);
+    }
+
+    private static final class SeedTable {
+        final String name;
+        final String columns;
+        final long rows;
+        final RowGenerator generator;
+
+        SeedTable(String name, String columns, long rows, RowGenerator generator) {
+            this.name = name;
+            this.columns = columns;
+            this.rows = rows;
+            this.generator = generator;
+        }
+    }
+}
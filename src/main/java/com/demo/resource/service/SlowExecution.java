@@ -0,0 +1,36 @@
+package com.demo.resource.service;
+
+import java.util.Locale;
+
+/**
+ * How /api/db/slow runs its four queries and 650 ms of simulated processing.
+ * BLOCKING is the original single transaction that sleeps on the request thread while holding
+ * its connection. DEFERRED runs each query in its own short read-only transaction on a worker
+ * pool and waits out the delays on a scheduler, so no thread or connection is parked meanwhile.
+ */
+public enum SlowExecution {
+    BLOCKING,
+    DEFERRED;
+
+    /**
+     * Name as accepted and reported by the API
+     */
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Resolve an execution mode name, falling back to the given default when no value is supplied
+     */
+    public static SlowExecution from(String value, SlowExecution fallback) {
+        if (value == null || value.trim().isEmpty()) {
+            return fallback;
+        }
+        try {
+            return SlowExecution.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown slow execution mode: " + value
+                    + " (expected blocking or deferred)");
+        }
+    }
+}
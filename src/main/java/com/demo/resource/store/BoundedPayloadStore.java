@@ -0,0 +1,366 @@
+package com.demo.resource.store;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Byte-budgeted, optionally expiring view over another payload store.
+ *
+ * Eviction is segmented LRU: new entries land in a probationary segment and are promoted
+ * to a protected segment (up to 80% of the budget) when read again. When over budget the
+ * probationary LRU is evicted first, so one-hit entries never push out frequently read ones.
+ * All eviction and expiry work is done a few entries at a time on the write path.
+ *
+ * Only the segment bookkeeping is done under this store's lock; the delegate is called outside
+ * it, so a concurrent backend stays concurrent. With no budget and no TTL there is nothing to
+ * track, and every call passes straight through to the delegate.
+ */
+public class BoundedPayloadStore implements PayloadStore {
+
+    private static final double PROTECTED_SHARE = 0.8;
+
+    // Expired entries reclaimed per write
+    private static final int EXPIRY_SCAN_PER_WRITE = 4;
+
+    private final PayloadStore delegate;
+    private final long maxBytes;
+    private final long protectedMaxBytes;
+    private final long ttlNanos;
+    private final boolean passThrough;
+
+    // Access-ordered: iteration starts at the least recently used entry
+    private final LinkedHashMap<Long, Entry> probation = new LinkedHashMap<>(256, 0.75f, true);
+    private final LinkedHashMap<Long, Entry> protectedSegment = new LinkedHashMap<>(256, 0.75f, true);
+    // Insertion order, which with a single TTL is also expiry order; reads do not reorder it
+    private final ArrayDeque<Entry> expiryQueue = new ArrayDeque<>();
+    private long probationBytes;
+    private long protectedBytes;
+    // Bumped by clear(), so a put whose delegate write raced a clear is not tracked
+    private long generation;
+
+    // Published after each locked update, so gauges read them without the lock
+    private volatile long trackedBytes;
+    private volatile int trackedEntries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final AtomicLong sizeEvictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    /**
+     * @param maxBytes payload byte budget, 0 or less for unbounded
+     * @param ttlSeconds entry time-to-live, 0 or less for no expiry
+     */
+    public BoundedPayloadStore(PayloadStore delegate, long maxBytes, long ttlSeconds) {
+        this.delegate = delegate;
+        this.maxBytes = maxBytes > 0 ? maxBytes : Long.MAX_VALUE;
+        this.protectedMaxBytes = maxBytes > 0 ? (long) (maxBytes * PROTECTED_SHARE) : Long.MAX_VALUE;
+        this.ttlNanos = ttlSeconds > 0 ? TimeUnit.SECONDS.toNanos(ttlSeconds) : 0;
+        this.passThrough = maxBytes <= 0 && ttlNanos == 0;
+    }
+
+    @Override
+    public long put(List<byte[]> chunks) {
+        if (passThrough) {
+            return delegate.put(chunks);
+        }
+        long bytes = 0;
+        for (byte[] chunk : chunks) {
+            bytes += chunk.length;
+        }
+        long startGeneration;
+        synchronized (this) {
+            startGeneration = generation;
+        }
+        long handle = delegate.put(chunks);
+
+        List<Long> released = new ArrayList<>();
+        synchronized (this) {
+            if (generation != startGeneration) {
+                released.add(handle);
+            } else {
+                long now = System.nanoTime();
+                expireOldest(now, released);
+                Entry entry = new Entry(handle, bytes, ttlNanos > 0 ? now + ttlNanos : 0);
+                probation.put(handle, entry);
+                probationBytes += bytes;
+                if (ttlNanos > 0) {
+                    expiryQueue.addLast(entry);
+                }
+                while (probationBytes + protectedBytes > maxBytes && evictOne(released)) {
+                    // keep evicting until back within budget
+                }
+                publish();
+            }
+        }
+        removeFromDelegate(released);
+        return handle;
+    }
+
+    @Override
+    public List<byte[]> get(long handle) {
+        if (passThrough) {
+            return count(delegate.get(handle));
+        }
+        boolean expired;
+        synchronized (this) {
+            Entry entry = probation.get(handle);
+            boolean inProbation = entry != null;
+            if (entry == null) {
+                entry = protectedSegment.get(handle);
+            }
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            expired = entry.isExpired(System.nanoTime());
+            if (expired) {
+                untrack(inProbation ? probation : protectedSegment, entry);
+                expirations.incrementAndGet();
+                misses.increment();
+                publish();
+            } else if (inProbation) {
+                promote(handle, entry);
+            }
+        }
+        if (expired) {
+            delegate.remove(handle);
+            return null;
+        }
+        // Evicted by a concurrent writer since the check: the delegate answers null, counted as a miss
+        return count(delegate.get(handle));
+    }
+
+    @Override
+    public long remove(long handle) {
+        if (passThrough) {
+            return delegate.remove(handle);
+        }
+        long bytes;
+        synchronized (this) {
+            Entry entry = probation.get(handle);
+            LinkedHashMap<Long, Entry> segment = probation;
+            if (entry == null) {
+                entry = protectedSegment.get(handle);
+                segment = protectedSegment;
+            }
+            if (entry == null) {
+                return 0;
+            }
+            bytes = untrack(segment, entry);
+            publish();
+        }
+        delegate.remove(handle);
+        return bytes;
+    }
+
+    @Override
+    public int size() {
+        return passThrough ? delegate.size() : trackedEntries;
+    }
+
+    @Override
+    public long payloadBytes() {
+        return passThrough ? delegate.payloadBytes() : trackedBytes;
+    }
+
+    @Override
+    public long onHeapBytes() {
+        if (passThrough) {
+            return delegate.onHeapBytes();
+        }
+        // LinkedHashMap entry + boxed key + Entry object per tracked payload, plus its expiry queue slot
+        return delegate.onHeapBytes() + (long) trackedEntries * (40 + 16 + 32 + (ttlNanos > 0 ? 8 : 0));
+    }
+
+    @Override
+    public long offHeapBytes() {
+        return delegate.offHeapBytes();
+    }
+
+    @Override
+    public void clear() {
+        if (passThrough) {
+            delegate.clear();
+            return;
+        }
+        // The delegate is cleared under the lock so no put can read the new generation before it is empty
+        synchronized (this) {
+            probation.clear();
+            protectedSegment.clear();
+            expiryQueue.clear();
+            probationBytes = 0;
+            protectedBytes = 0;
+            generation++;
+            publish();
+            delegate.clear();
+        }
+    }
+
+    @Override
+    public String backend() {
+        return delegate.backend();
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = delegate.stats();
+        stats.put("maxBytes", maxBytes == Long.MAX_VALUE ? 0 : maxBytes);
+        stats.put("ttlSeconds", TimeUnit.NANOSECONDS.toSeconds(ttlNanos));
+        synchronized (this) {
+            stats.put("probationBytes", probationBytes);
+            stats.put("protectedBytes", protectedBytes);
+        }
+        stats.put("evictions", sizeEvictions.get());
+        stats.put("expirations", expirations.get());
+        stats.put("hitRatio", hitRatio());
+        stats.put("onHeapBytes", onHeapBytes());
+        return stats;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Entries evicted to stay within the byte budget
+     */
+    public long getEvictionCount() {
+        return sizeEvictions.get();
+    }
+
+    /**
+     * Entries removed because their TTL elapsed
+     */
+    public long getExpirationCount() {
+        return expirations.get();
+    }
+
+    public double hitRatio() {
+        long hitCount = hits.sum();
+        long lookups = hitCount + misses.sum();
+        return lookups > 0 ? (double) hitCount / lookups : 0.0;
+    }
+
+    // Helper methods
+
+    private List<byte[]> count(List<byte[]> chunks) {
+        if (chunks != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return chunks;
+    }
+
+    private void removeFromDelegate(List<Long> handles) {
+        for (Long handle : handles) {
+            delegate.remove(handle);
+        }
+    }
+
+    private void publish() {
+        trackedBytes = probationBytes + protectedBytes;
+        trackedEntries = probation.size() + protectedSegment.size();
+    }
+
+    private void promote(long handle, Entry entry) {
+        probation.remove(handle);
+        probationBytes -= entry.bytes;
+        protectedSegment.put(handle, entry);
+        protectedBytes += entry.bytes;
+
+        // Demote protected LRU entries back to probation rather than evicting them outright
+        Iterator<Map.Entry<Long, Entry>> it = protectedSegment.entrySet().iterator();
+        while (protectedBytes > protectedMaxBytes && it.hasNext()) {
+            Map.Entry<Long, Entry> eldest = it.next();
+            if (eldest.getKey() == handle) {
+                break;
+            }
+            it.remove();
+            protectedBytes -= eldest.getValue().bytes;
+            probation.put(eldest.getKey(), eldest.getValue());
+            probationBytes += eldest.getValue().bytes;
+        }
+    }
+
+    private boolean evictOne(List<Long> released) {
+        LinkedHashMap<Long, Entry> segment = probation.isEmpty() ? protectedSegment : probation;
+        Iterator<Map.Entry<Long, Entry>> it = segment.entrySet().iterator();
+        if (!it.hasNext()) {
+            return false;
+        }
+        Entry eldest = it.next().getValue();
+        untrack(segment, eldest);
+        released.add(eldest.handle);
+        sizeEvictions.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Reclaim up to EXPIRY_SCAN_PER_WRITE expired entries from the head of the expiry queue,
+     * wherever they sit in the LRU order. Queue slots of entries already evicted or removed
+     * are dropped along the way; each entry is queued once, so that cost is amortized.
+     */
+    private void expireOldest(long now, List<Long> released) {
+        int expired = 0;
+        while (expired < EXPIRY_SCAN_PER_WRITE && !expiryQueue.isEmpty()) {
+            Entry head = expiryQueue.peekFirst();
+            if (head.removed) {
+                expiryQueue.pollFirst();
+                continue;
+            }
+            if (!head.isExpired(now)) {
+                return;
+            }
+            expiryQueue.pollFirst();
+            untrack(probation.containsKey(head.handle) ? probation : protectedSegment, head);
+            released.add(head.handle);
+            expirations.incrementAndGet();
+            expired++;
+        }
+    }
+
+    /**
+     * Drop an entry from the bookkeeping; the caller releases it from the delegate after unlocking
+     */
+    private long untrack(LinkedHashMap<Long, Entry> segment, Entry entry) {
+        segment.remove(entry.handle);
+        if (segment == probation) {
+            probationBytes -= entry.bytes;
+        } else {
+            protectedBytes -= entry.bytes;
+        }
+        entry.removed = true;
+        return entry.bytes;
+    }
+
+    private static final class Entry {
+        final long handle;
+        final long bytes;
+        final long expiresAtNanos;
+        // Set under the store's lock once the entry leaves both segments
+        boolean removed;
+
+        Entry(long handle, long bytes, long expiresAtNanos) {
+            this.handle = handle;
+            this.bytes = bytes;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        boolean isExpired(long now) {
+            return expiresAtNanos != 0 && now - expiresAtNanos >= 0;
+        }
+    }
+}
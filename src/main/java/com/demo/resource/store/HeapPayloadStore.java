@@ -0,0 +1,117 @@
+package com.demo.resource.store;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Original on-heap layout: one ArrayList of byte[] per entry in a ConcurrentHashMap.
+ */
+public class HeapPayloadStore implements PayloadStore {
+
+    // Rough 64-bit compressed-oops sizes used for the footprint estimate
+    private static final int MAP_NODE_BYTES = 32;
+    private static final int BOXED_KEY_BYTES = 16;
+    private static final int ARRAY_LIST_BYTES = 24;
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    private final Map<Long, List<byte[]>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong nextHandle = new AtomicLong(1);
+    private final AtomicLong payloadBytes = new AtomicLong();
+    private final AtomicLong heapBytes = new AtomicLong();
+
+    @Override
+    public long put(List<byte[]> chunks) {
+        long handle = nextHandle.getAndIncrement();
+        List<byte[]> copy = new ArrayList<>(chunks);
+        entries.put(handle, copy);
+        payloadBytes.addAndGet(payloadOf(copy));
+        heapBytes.addAndGet(footprintOf(copy));
+        return handle;
+    }
+
+    @Override
+    public List<byte[]> get(long handle) {
+        List<byte[]> chunks = entries.get(handle);
+        return chunks == null ? null : new ArrayList<>(chunks);
+    }
+
+    @Override
+    public long remove(long handle) {
+        List<byte[]> chunks = entries.remove(handle);
+        if (chunks == null) {
+            return 0;
+        }
+        long released = payloadOf(chunks);
+        payloadBytes.addAndGet(-released);
+        heapBytes.addAndGet(-footprintOf(chunks));
+        return released;
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public long payloadBytes() {
+        return payloadBytes.get();
+    }
+
+    @Override
+    public long onHeapBytes() {
+        return heapBytes.get();
+    }
+
+    @Override
+    public long offHeapBytes() {
+        return 0;
+    }
+
+    @Override
+    public void clear() {
+        entries.clear();
+        payloadBytes.set(0);
+        heapBytes.set(0);
+    }
+
+    @Override
+    public String backend() {
+        return "heap";
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("backend", backend());
+        stats.put("entries", size());
+        stats.put("payloadBytes", payloadBytes());
+        stats.put("onHeapBytes", onHeapBytes());
+        stats.put("offHeapBytes", offHeapBytes());
+        return stats;
+    }
+
+    private static long payloadOf(List<byte[]> chunks) {
+        long total = 0;
+        for (byte[] chunk : chunks) {
+            total += chunk.length;
+        }
+        return total;
+    }
+
+    private static long footprintOf(List<byte[]> chunks) {
+        long total = MAP_NODE_BYTES + BOXED_KEY_BYTES + ARRAY_LIST_BYTES
+                + align(ARRAY_HEADER_BYTES + 4L * chunks.size());
+        for (byte[] chunk : chunks) {
+            total += align(ARRAY_HEADER_BYTES + (long) chunk.length);
+        }
+        return total;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
@@ -0,0 +1,294 @@
+package com.demo.resource.store;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Payload store that keeps entries in direct ByteBuffer slabs.
+ * The heap holds only a primitive open-addressing index from handle to (slab, offset, length).
+ *
+ * Each entry is written as one contiguous record: [chunkCount][len0][bytes0][len1][bytes1]...
+ * Slabs track their live bytes; a standard-size slab whose entries are all removed is
+ * recycled, and an oversized slab (one record larger than the slab size) is released.
+ * Direct memory of released slabs is returned when the ByteBuffer is collected.
+ */
+public class OffHeapPayloadStore implements PayloadStore {
+
+    private static final int INITIAL_INDEX_CAPACITY = 1024;
+    private static final int BYTE_BUFFER_OBJECT_BYTES = 64;
+
+    private final int slabBytes;
+
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    private int[] slabLiveBytes = new int[16];
+    private final ArrayDeque<Integer> freeSlabs = new ArrayDeque<>();
+    private int currentSlab = -1;
+
+    // Open-addressing index, handle 0 marks an empty slot
+    private long[] keys = new long[INITIAL_INDEX_CAPACITY];
+    private long[] locations = new long[INITIAL_INDEX_CAPACITY];
+    private int[] lengths = new int[INITIAL_INDEX_CAPACITY];
+    private int size;
+
+    private long nextHandle = 1;
+    private long payloadBytes;
+    private long reservedBytes;
+
+    public OffHeapPayloadStore(int slabBytes) {
+        this.slabBytes = Math.max(4096, slabBytes);
+    }
+
+    @Override
+    public synchronized long put(List<byte[]> chunks) {
+        int recordLength = 4;
+        long payload = 0;
+        for (byte[] chunk : chunks) {
+            recordLength += 4 + chunk.length;
+            payload += chunk.length;
+        }
+
+        int slab = slabFor(recordLength);
+        ByteBuffer buffer = slabs.get(slab);
+        int offset = buffer.position();
+        buffer.putInt(chunks.size());
+        for (byte[] chunk : chunks) {
+            buffer.putInt(chunk.length);
+            buffer.put(chunk);
+        }
+        slabLiveBytes[slab] += recordLength;
+
+        long handle = nextHandle++;
+        insert(handle, ((long) slab << 32) | (offset & 0xFFFFFFFFL), recordLength);
+        payloadBytes += payload;
+        return handle;
+    }
+
+    @Override
+    public synchronized List<byte[]> get(long handle) {
+        int slot = find(handle);
+        if (slot < 0) {
+            return null;
+        }
+        long location = locations[slot];
+        ByteBuffer view = slabs.get((int) (location >>> 32)).duplicate();
+        view.position((int) location);
+        int count = view.getInt();
+        List<byte[]> chunks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] chunk = new byte[view.getInt()];
+            view.get(chunk);
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    @Override
+    public synchronized long remove(long handle) {
+        int slot = find(handle);
+        if (slot < 0) {
+            return 0;
+        }
+        int slab = (int) (locations[slot] >>> 32);
+        int recordLength = lengths[slot];
+        // Record length minus the count header and one length prefix per chunk
+        ByteBuffer view = slabs.get(slab);
+        int chunkCount = view.getInt((int) locations[slot]);
+        long released = recordLength - 4L - 4L * chunkCount;
+
+        deleteSlot(slot);
+        payloadBytes -= released;
+        slabLiveBytes[slab] -= recordLength;
+        if (slabLiveBytes[slab] == 0) {
+            if (slab == currentSlab) {
+                slabs.get(slab).clear();
+            } else {
+                releaseSlab(slab);
+            }
+        }
+        return released;
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized long payloadBytes() {
+        return payloadBytes;
+    }
+
+    @Override
+    public synchronized long onHeapBytes() {
+        long index = (long) keys.length * (8 + 8 + 4);
+        long slabObjects = (long) slabs.size() * BYTE_BUFFER_OBJECT_BYTES;
+        return index + slabObjects + 4L * slabLiveBytes.length;
+    }
+
+    @Override
+    public synchronized long offHeapBytes() {
+        return reservedBytes;
+    }
+
+    @Override
+    public synchronized void clear() {
+        slabs.clear();
+        freeSlabs.clear();
+        Arrays.fill(slabLiveBytes, 0);
+        currentSlab = -1;
+        keys = new long[INITIAL_INDEX_CAPACITY];
+        locations = new long[INITIAL_INDEX_CAPACITY];
+        lengths = new int[INITIAL_INDEX_CAPACITY];
+        size = 0;
+        payloadBytes = 0;
+        reservedBytes = 0;
+    }
+
+    @Override
+    public String backend() {
+        return "offheap";
+    }
+
+    @Override
+    public synchronized Map<String, Object> stats() {
+        int liveSlabs = 0;
+        for (ByteBuffer slab : slabs) {
+            if (slab != null) {
+                liveSlabs++;
+            }
+        }
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("backend", backend());
+        stats.put("entries", size);
+        stats.put("payloadBytes", payloadBytes);
+        stats.put("onHeapBytes", onHeapBytes());
+        stats.put("offHeapBytes", reservedBytes);
+        stats.put("slabBytes", slabBytes);
+        stats.put("slabs", liveSlabs);
+        stats.put("freeSlabs", freeSlabs.size());
+        return stats;
+    }
+
+    // Slab management
+
+    private int slabFor(int recordLength) {
+        if (currentSlab >= 0 && slabs.get(currentSlab).remaining() >= recordLength) {
+            return currentSlab;
+        }
+        int previous = currentSlab;
+        if (recordLength > slabBytes) {
+            // Oversized record gets a dedicated slab; the current slab stays open
+            return allocateSlab(recordLength);
+        }
+        currentSlab = freeSlabs.isEmpty() ? allocateSlab(slabBytes) : freeSlabs.poll();
+        if (previous >= 0 && slabLiveBytes[previous] == 0) {
+            releaseSlab(previous);
+        }
+        return currentSlab;
+    }
+
+    private int allocateSlab(int capacity) {
+        int idx = slabs.indexOf(null);
+        if (idx < 0) {
+            idx = slabs.size();
+            slabs.add(null);
+            if (idx >= slabLiveBytes.length) {
+                slabLiveBytes = Arrays.copyOf(slabLiveBytes, slabLiveBytes.length * 2);
+            }
+        }
+        slabs.set(idx, ByteBuffer.allocateDirect(capacity));
+        slabLiveBytes[idx] = 0;
+        reservedBytes += capacity;
+        return idx;
+    }
+
+    private void releaseSlab(int slab) {
+        ByteBuffer buffer = slabs.get(slab);
+        if (buffer.capacity() == slabBytes) {
+            buffer.clear();
+            freeSlabs.add(slab);
+        } else {
+            slabs.set(slab, null);
+            reservedBytes -= buffer.capacity();
+        }
+    }
+
+    // Index operations (linear probing, backward-shift deletion)
+
+    private int find(long handle) {
+        int mask = keys.length - 1;
+        int slot = mix(handle) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == handle) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insert(long handle, long location, int length) {
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        int slot = mix(handle) & mask;
+        while (keys[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = handle;
+        locations[slot] = location;
+        lengths[slot] = length;
+        size++;
+    }
+
+    private void deleteSlot(int slot) {
+        int mask = keys.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (keys[next] != 0) {
+            int home = mix(keys[next]) & mask;
+            // Move the entry back if its home is not cyclically within (hole, next]
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                locations[hole] = locations[next];
+                lengths[hole] = lengths[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = 0;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldLocations = locations;
+        int[] oldLengths = lengths;
+        keys = new long[capacity];
+        locations = new long[capacity];
+        lengths = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = mix(oldKeys[i]) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                locations[slot] = oldLocations[i];
+                lengths[slot] = oldLengths[i];
+            }
+        }
+    }
+
+    private static int mix(long handle) {
+        long h = handle * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,71 @@
+package com.demo.resource.store;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Backend for the byte[] payloads accumulated by the load endpoints.
+ * Entries are addressed by a long handle returned from {@link #put(List)}.
+ */
+public interface PayloadStore {
+
+    /**
+     * Store the chunks as one entry
+     *
+     * @return handle used to read or remove the entry
+     */
+    long put(List<byte[]> chunks);
+
+    /**
+     * Copy of the entry's chunks, or null when the handle is unknown
+     */
+    List<byte[]> get(long handle);
+
+    /**
+     * Remove an entry, returning the number of payload bytes released (0 if absent)
+     */
+    long remove(long handle);
+
+    int size();
+
+    /**
+     * Payload bytes currently stored
+     */
+    long payloadBytes();
+
+    /**
+     * Estimated heap bytes held by the store, including object headers and index
+     */
+    long onHeapBytes();
+
+    /**
+     * Direct memory reserved by the store
+     */
+    long offHeapBytes();
+
+    void clear();
+
+    String backend();
+
+    /**
+     * Footprint summary for the metrics endpoint
+     */
+    Map<String, Object> stats();
+
+    /**
+     * Create a store for the given backend name (heap or offheap)
+     */
+    static PayloadStore create(String backend, int slabBytes) {
+        String name = backend == null ? "heap" : backend.trim().toLowerCase(Locale.ROOT);
+        switch (name) {
+            case "heap":
+                return new HeapPayloadStore();
+            case "offheap":
+                return new OffHeapPayloadStore(slabBytes);
+            default:
+                throw new IllegalArgumentException("Unknown payload store backend: " + backend
+                        + " (expected heap or offheap)");
+        }
+    }
+}
@@ -4,7 +4,15 @@
 -- Create indexes only on selected columns (deliberately missing some for slow queries)
 CREATE INDEX IF NOT EXISTS idx_data_record_category ON data_record(category)^^;
 CREATE INDEX IF NOT EXISTS idx_data_record_timestamp ON data_record(timestamp)^^;
+-- Composite keys for keyset paging on (category, id) and (timestamp, id)
+CREATE INDEX IF NOT EXISTS idx_data_record_category_id ON data_record(category, id)^^;
+CREATE INDEX IF NOT EXISTS idx_data_record_timestamp_id ON data_record(timestamp, id)^^;
 -- Deliberately NOT indexing data_record.payload for slow LIKE searches
+-- Full-text search (/api/db/search) uses a stored tsvector so ranking does not re-parse payloads;
+-- its GIN index only serves @@ matches, so LIKE '%...%' still scans
+ALTER TABLE data_record ADD COLUMN IF NOT EXISTS payload_tsv tsvector
+    GENERATED ALWAYS AS (to_tsvector('english', coalesce(payload, ''))) STORED^^;
+CREATE INDEX IF NOT EXISTS idx_data_record_payload_tsv ON data_record USING gin (payload_tsv)^^;
 
 -- Deliberately NOT indexing related_entity.data_record_id to cause slow joins
 CREATE INDEX IF NOT EXISTS idx_related_entity_status ON related_entity(status)^^;
@@ -7,7 +7,7 @@
 # configurable modes and intensity levels.
 #
 # Usage:
-#   ./traffic-generator-locks.sh --mode=<MODE> --targets=<TARGETS> [--duration=<SECONDS>]
+#   ./traffic-generator-locks.sh --mode=<MODE> --targets=<TARGETS> [--duration=<SECONDS>] [--strategy=<STRATEGY>]
 #
 # Modes:
 #   slow      - 20 req/min for 12 hours (43200 seconds)
@@ -18,16 +18,21 @@
 # Targets (comma-separated):
 #   light-contention, moderate-contention, heavy-contention, stable, all
 #
+# Strategies (passed to /api/contention/load):
+#   monitor (default), lockfree, reentrant, single-writer
+#
 # Examples:
 #   ./traffic-generator-locks.sh --mode=fast --targets=all
 #   ./traffic-generator-locks.sh --mode=moderate --targets=heavy-contention
 #   ./traffic-generator-locks.sh --mode=stable
+#   ./traffic-generator-locks.sh --mode=fast --targets=heavy-contention --strategy=lockfree
 ################################################################################
 
 # Default values
 MODE=""
 TARGETS=""
 DURATION=""
+STRATEGY=""
 BASE_URL="http://localhost:8585"
 
 # Parse arguments
@@ -49,11 +54,16 @@ for arg in "$@"; do
             BASE_URL="${arg#*=}"
             shift
             ;;
+        --strategy=*)
+            STRATEGY="${arg#*=}"
+            shift
+            ;;
         --help)
-            echo "Usage: $0 --mode=<MODE> --targets=<TARGETS> [--duration=<SECONDS>] [--url=<URL>]"
+            echo "Usage: $0 --mode=<MODE> --targets=<TARGETS> [--duration=<SECONDS>] [--url=<URL>] [--strategy=<STRATEGY>]"
             echo ""
             echo "Modes: slow, moderate, fast, stable"
             echo "Targets: light-contention, moderate-contention, heavy-contention, stable, all"
+            echo "Strategies: monitor (default), lockfree, reentrant, single-writer"
             echo ""
             echo "Examples:"
             echo "  $0 --mode=fast --targets=all"
@@ -238,6 +248,9 @@ make_request() {
     # Fixed parameters: 4ms hold time, 5 operations per call
     # Contention grows naturally as concurrent API calls increase
     local params="?holdTimeMs=2&operationCount=2"
+    if [[ -n "$STRATEGY" && "$method" == "POST" ]]; then
+        params="${params}&strategy=${STRATEGY}"
+    fi
     
     local timestamp=$(date '+%Y-%m-%d %H:%M:%S')
     
@@ -296,6 +309,7 @@ echo "Requests per minute: $REQUESTS_PER_MIN"
 echo "Interval: $INTERVAL seconds"
 echo "Duration: $([ $TOTAL_DURATION -eq 0 ] && echo 'indefinite' || echo "$TOTAL_DURATION seconds")"
 echo "Targets: ${TARGET_ARRAY[*]}"
+echo "Strategy: ${STRATEGY:-monitor}"
 echo ""
 echo "Weights:"
 for target in "${TARGET_ARRAY[@]}"; do